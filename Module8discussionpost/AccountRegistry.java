@@ -0,0 +1,350 @@
+package Module8discussionpost;
+
+/**
+ * CSC450 Module 8 - Sharded account registry
+ *
+ * Holds BankAccounts by accountId in a fixed array of ConcurrentHashMap
+ * shards. Each shard is presized for its share of the expected accounts,
+ * so loading millions of accounts never triggers one giant rehash, and
+ * lookups stay a hash plus an array index, lock-free.
+ *
+ * Transfers by id go through the same ordered-locking TransferEngine as
+ * BankAccount.transferTo.
+ *
+ * Given a Ledger, every open, deposit, withdrawal, transfer and
+ * deactivation is journaled before it is applied, whether it is made
+ * through the registry or on an account it handed out (the accounts carry
+ * the ledger), and recover() rebuilds the accounts by replaying the file.
+ * snapshot() writes a Snapshot so a later recover() only replays the
+ * ledger tail written after it; run it periodically (for example from a
+ * ScheduledExecutorService) to keep cold starts short.
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+class AccountRegistry implements Closeable {
+    static final int DEFAULT_SHARDS = 64;
+
+    private final ConcurrentHashMap<String, BankAccount>[] shards;
+    private final int shardShift;
+    private final Ledger ledger;
+    private final TransferEngine transfers;
+
+    public AccountRegistry(int expectedAccounts) {
+        this(expectedAccounts, DEFAULT_SHARDS, null);
+    }
+
+    /**
+     * shardCount is rounded up to a power of two, at least 2. ledger may be
+     * null for an in-memory registry; otherwise the registry owns it and
+     * close() closes it.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public AccountRegistry(int expectedAccounts, int shardCount, Ledger ledger) {
+        if (expectedAccounts < 0 || shardCount <= 0) {
+            throw new IllegalArgumentException("Expected accounts cannot be negative; shard count must be positive");
+        }
+        int shardBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(shardCount - 1));
+        int count = 1 << shardBits;
+        int perShard = expectedAccounts / count + 1;
+
+        this.shards = new ConcurrentHashMap[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new ConcurrentHashMap<>(perShard);
+        }
+        this.shardShift = 32 - shardBits;
+        this.ledger = ledger;
+        this.transfers = new TransferEngine();
+    }
+
+    /**
+     * Rebuilds a registry from the ledger at file (created if missing) and
+     * keeps journaling to it under policy.
+     */
+    public static AccountRegistry recover(Path file, int expectedAccounts, Ledger.SyncPolicy policy)
+            throws IOException {
+        return recover(file, null, expectedAccounts, policy);
+    }
+
+    /**
+     * Loads snapshotFile, if it exists, then replays the ledger entries
+     * written after the snapshot's checkpoint.
+     */
+    public static AccountRegistry recover(Path ledgerFile, Path snapshotFile, int expectedAccounts,
+            Ledger.SyncPolicy policy) throws IOException {
+        boolean fromSnapshot = snapshotFile != null && Files.exists(snapshotFile);
+        Ledger.Checkpoint checkpoint = fromSnapshot ? Snapshot.checkpoint(snapshotFile) : Ledger.Checkpoint.START;
+
+        Ledger ledger = Ledger.open(ledgerFile, policy, checkpoint);
+        try {
+            AccountRegistry registry = new AccountRegistry(expectedAccounts, DEFAULT_SHARDS, ledger);
+            if (fromSnapshot) {
+                Snapshot.load(snapshotFile, registry::restore);
+            }
+            Ledger.replay(ledgerFile, checkpoint, registry::apply);
+            return registry;
+        } catch (IOException | RuntimeException e) {
+            ledger.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open a new account
+     * BEST PRACTICE: Atomic check-and-insert; two threads opening the same id can't both succeed
+     */
+    public BankAccount open(String accountId, long initialBalanceCents) throws BankingException {
+        BankAccount account = new BankAccount(accountId, initialBalanceCents, ledger);
+        if (ledger == null) {
+            if (shardFor(accountId).putIfAbsent(accountId, account) != null) {
+                throw new InvalidAccountException(accountId, "Account already exists");
+            }
+            return account;
+        }
+
+        // GOOD: Publish the account locked, so nothing can be journaled for it before its OPEN entry
+        long sequence;
+        account.lock.lock();
+        try {
+            if (shardFor(accountId).putIfAbsent(accountId, account) != null) {
+                throw new InvalidAccountException(accountId, "Account already exists");
+            }
+            try {
+                sequence = ledger.append(Ledger.EntryType.OPEN, accountId, null, initialBalanceCents);
+            } catch (IOException | RuntimeException e) {
+                // GOOD: Deactivate before unpublishing; a thread that already looked the account up
+                // and is waiting for its lock is then rejected instead of journaling for an unopened id
+                account.applyDeactivate();
+                shardFor(accountId).remove(accountId, account);
+                if (e instanceof IOException ioFailure) {
+                    throw Ledger.writeFailed(ioFailure);
+                }
+                throw (RuntimeException) e;
+            }
+            account.ledgerSequence = sequence;
+        } finally {
+            account.lock.unlock();
+        }
+        awaitDurable(sequence);
+        return account;
+    }
+
+    /**
+     * Changes made on the returned account are journaled like changes made
+     * through the registry.
+     */
+    public BankAccount get(String accountId) throws InvalidAccountException {
+        BankAccount account = find(accountId);
+        if (account == null) {
+            throw new InvalidAccountException(accountId, "Account not found");
+        }
+        return account;
+    }
+
+    public boolean contains(String accountId) {
+        return accountId != null && shardFor(accountId).containsKey(accountId);
+    }
+
+    /**
+     * Deactivated accounts stay registered so later operations fail with
+     * "Account is inactive" rather than "Account not found".
+     */
+    public void deactivate(String accountId) throws BankingException {
+        get(accountId).deactivateJournaled();
+    }
+
+    public void deposit(String accountId, long amountCents) throws BankingException {
+        get(accountId).deposit(amountCents);
+    }
+
+    public void withdraw(String accountId, long amountCents) throws BankingException {
+        get(accountId).withdraw(amountCents);
+    }
+
+    public void transfer(String fromId, String toId, long amountCents) throws BankingException {
+        transfers.transfer(get(fromId), get(toId), amountCents);
+    }
+
+    /**
+     * Non-throwing forms of deposit, withdraw and transfer: an id that is
+     * not registered is UNKNOWN_ACCOUNT rather than InvalidAccountException.
+     * A ledger failure surfaces as UncheckedIOException.
+     */
+    public BankingOutcome tryDeposit(String accountId, long amountCents) {
+        BankAccount account = find(accountId);
+        return account == null ? BankingOutcome.UNKNOWN_ACCOUNT : account.tryDeposit(amountCents);
+    }
+
+    public BankingOutcome tryWithdraw(String accountId, long amountCents) {
+        BankAccount account = find(accountId);
+        return account == null ? BankingOutcome.UNKNOWN_ACCOUNT : account.tryWithdraw(amountCents);
+    }
+
+    public BankingOutcome tryTransfer(String fromId, String toId, long amountCents) {
+        BankAccount from = find(fromId);
+        BankAccount to = find(toId);
+        if (from == null || to == null) {
+            return BankingOutcome.UNKNOWN_ACCOUNT;
+        }
+        return transfers.tryTransfer(from, to, amountCents);
+    }
+
+    public long size() {
+        long size = 0;
+        for (ConcurrentHashMap<String, BankAccount> shard : shards) {
+            size += shard.mappingCount();
+        }
+        return size;
+    }
+
+    /**
+     * Visits every account, shard by shard. Accounts opened concurrently may
+     * or may not be visited.
+     */
+    public void forEach(Consumer<BankAccount> action) {
+        for (Map<String, BankAccount> shard : shards) {
+            shard.values().forEach(action);
+        }
+    }
+
+    /**
+     * Writes every account to file, replacing any earlier snapshot, and
+     * returns the ledger checkpoint it covers. Operations keep running while
+     * the snapshot is written.
+     */
+    public Ledger.Checkpoint snapshot(Path file) throws IOException {
+        if (ledger == null) {
+            throw new IllegalStateException("Snapshots need a ledger to replay from");
+        }
+        // GOOD: Mark first; every entry before the mark is reflected in the accounts copied below
+        Ledger.Checkpoint checkpoint = ledger.mark();
+        try (Snapshot.Writer writer = Snapshot.create(file, checkpoint)) {
+            for (Map<String, BankAccount> shard : shards) {
+                for (BankAccount account : shard.values()) {
+                    writer.add(account);
+                }
+            }
+            // Copied accounts may reflect entries after the mark; make those durable before publishing
+            ledger.sync();
+            writer.commit();
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Closes the ledger, forcing anything not yet durable to disk.
+     */
+    @Override
+    public void close() throws IOException {
+        if (ledger != null) {
+            ledger.close();
+        }
+    }
+
+    private void awaitDurable(long sequence) throws BankingException {
+        try {
+            ledger.awaitDurable(sequence);
+        } catch (IOException e) {
+            throw Ledger.notDurable(e);
+        }
+    }
+
+    // Loads one snapshot record; only used by recover(), before the registry is shared
+    private void restore(String accountId, long balanceCents, boolean active, long ledgerSequence) {
+        BankAccount account = new BankAccount(accountId, balanceCents, ledger);
+        if (!active) {
+            account.applyDeactivate();
+        }
+        account.ledgerSequence = ledgerSequence;
+        shardFor(accountId).put(accountId, account);
+    }
+
+    /**
+     * Replays one ledger entry straight into the maps: no journaling, no
+     * logging. Only used by recover(), before the registry is shared.
+     * Accounts restored from a snapshot skip entries they already reflect.
+     */
+    private void apply(Ledger.Entry entry) throws IOException {
+        long sequence = entry.sequence();
+        String accountId = entry.accountId();
+        BankAccount account = shardFor(accountId).get(accountId);
+        if (entry.type() == Ledger.EntryType.OPEN) {
+            if (account == null) {
+                account = new BankAccount(accountId, entry.amountCents(), ledger);
+                account.ledgerSequence = sequence;
+                shardFor(accountId).put(accountId, account);
+            } else if (account.ledgerSequence < sequence) {
+                throw new IOException("Ledger entry " + sequence + " reopens existing account " + accountId);
+            }
+            return;
+        }
+
+        if (account == null) {
+            throw new IOException("Ledger entry " + sequence + " refers to unknown account " + accountId);
+        }
+        try {
+            switch (entry.type()) {
+                case DEPOSIT -> {
+                    if (advance(account, sequence)) {
+                        account.credit(entry.amountCents());
+                    }
+                }
+                case WITHDRAW -> {
+                    if (advance(account, sequence)) {
+                        account.debit(entry.amountCents());
+                    }
+                }
+                case TRANSFER -> {
+                    BankAccount recipient = entry.otherId() == null ? null
+                            : shardFor(entry.otherId()).get(entry.otherId());
+                    if (recipient == null) {
+                        throw new IOException("Ledger entry " + sequence + " refers to unknown account "
+                                + entry.otherId());
+                    }
+                    if (advance(account, sequence)) {
+                        account.debit(entry.amountCents());
+                    }
+                    if (advance(recipient, sequence)) {
+                        recipient.credit(entry.amountCents());
+                    }
+                }
+                case DEACTIVATE -> {
+                    if (advance(account, sequence)) {
+                        account.applyDeactivate();
+                    }
+                }
+                case OPEN -> throw new AssertionError();
+            }
+        } catch (InsufficientFundsException e) {
+            // Debits were checked before they were journaled, so this means the file is inconsistent
+            throw new IOException("Ledger entry " + sequence + " overdraws " + accountId, e);
+        } catch (ArithmeticException e) {
+            // Likewise for credits
+            throw new IOException("Ledger entry " + sequence + " overflows a balance", e);
+        }
+    }
+
+    // Entries for one account are journaled in order, so anything at or below its sequence is already applied
+    private static boolean advance(BankAccount account, long sequence) {
+        if (sequence <= account.ledgerSequence) {
+            return false;
+        }
+        account.ledgerSequence = sequence;
+        return true;
+    }
+
+    private BankAccount find(String accountId) {
+        return accountId == null ? null : shardFor(accountId).get(accountId);
+    }
+
+    // PERFORMANCE: Shard on the high bits; each ConcurrentHashMap indexes its table with the low bits
+    private ConcurrentHashMap<String, BankAccount> shardFor(String accountId) {
+        return shards[(accountId.hashCode() * 0x9E3779B9) >>> shardShift];
+    }
+}
@@ -0,0 +1,371 @@
+package Module8discussionpost;
+
+/**
+ * CSC450 Module 8 - Comprehensive banking example
+ *
+ * An account whose balance and status are guarded by its own lock.
+ * Transfers go through TransferEngine, which locks both accounts in
+ * lockRank order.
+ *
+ * Accounts opened through a ledger-backed AccountRegistry carry its Ledger:
+ * withdraw, deposit, transfers and deactivate (and their try* forms)
+ * journal each change under the lock before applying it, so changes made
+ * on an account the registry handed out are recovered like any other.
+ * The wait for durability comes after the change is applied and the lock
+ * released, so a ledger failure at that point is reported as
+ * LEDGER_NOT_DURABLE (UncheckedIOException from the try* forms): the
+ * change has happened in memory and is not undone. The failed ledger then
+ * refuses every later change, so the registry stops accepting them.
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+class BankAccount {
+    private final String accountId;
+    private long balanceCents;
+    private boolean active;
+    // GOOD: Guards balance and active; TransferEngine takes these in lockRank order
+    final ReentrantLock lock = new ReentrantLock();
+    // Global lock order: unique and fixed at construction, so comparing two accounts is one long compare
+    final long lockRank = lockRanks.getAndIncrement();
+    // Sequence of the last ledger entry applied to this account, 0 if none; guarded by lock
+    long ledgerSequence;
+    // Set for accounts owned by a ledger-backed AccountRegistry, null otherwise
+    final Ledger ledger;
+    private static final AtomicLong lockRanks = new AtomicLong();
+    private static final Logger logger = Logger.getLogger(BankAccount.class.getName());
+    private static final TransferEngine transfers = new TransferEngine();
+
+    public BankAccount(String accountId, long initialBalanceCents) {
+        this(accountId, initialBalanceCents, null);
+    }
+
+    /**
+     * For AccountRegistry: ledger is the registry's, and every change made
+     * through this account's methods is journaled to it first.
+     */
+    BankAccount(String accountId, long initialBalanceCents, Ledger ledger) {
+        if (accountId == null || accountId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Account ID cannot be null or empty");
+        }
+        if (initialBalanceCents < 0) {
+            throw new IllegalArgumentException("Initial balance cannot be negative");
+        }
+
+        this.accountId = accountId;
+        this.balanceCents = initialBalanceCents;
+        this.active = true;
+        this.ledger = ledger;
+    }
+
+    /**
+     * Withdraw funds with comprehensive error handling
+     * BEST PRACTICE: Use custom exceptions for domain-specific errors
+     */
+    public void withdraw(long amountCents) throws BankingException {
+        // GOOD: Early validation
+        validateAmount(amountCents);
+
+        long sequence;
+        lock.lock();
+        try {
+            BankingOutcome outcome = withdrawLocked(amountCents);
+            if (!outcome.isOk()) {
+                // GOOD: Built under the lock, so the reported balance is the one that was checked
+                throw rejection(outcome, amountCents);
+            }
+            sequence = ledgerSequence;
+        } catch (IOException e) {
+            throw Ledger.writeFailed(e);
+        } finally {
+            lock.unlock();
+        }
+
+        awaitDurable(sequence);
+        logWithdrawal(amountCents);
+    }
+
+    /**
+     * Withdraw without throwing for expected rejections
+     * PERFORMANCE: High-rate callers get a preallocated outcome instead of an exception
+     * A ledger failure is not a business rejection and surfaces as
+     * UncheckedIOException.
+     */
+    public BankingOutcome tryWithdraw(long amountCents) {
+        if (amountCents <= 0) {
+            return BankingOutcome.INVALID_AMOUNT;
+        }
+
+        BankingOutcome outcome;
+        long sequence;
+        lock.lock();
+        try {
+            outcome = withdrawLocked(amountCents);
+            sequence = ledgerSequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+
+        if (outcome.isOk()) {
+            awaitDurableUnchecked(sequence);
+            logWithdrawal(amountCents);
+        }
+        return outcome;
+    }
+
+    /**
+     * Transfer funds between accounts
+     * BEST PRACTICE: Both accounts locked in a global order, so the transfer is
+     * atomic and two opposite transfers can't deadlock
+     */
+    public void transferTo(BankAccount recipient, long amountCents) throws BankingException {
+        transfers.transfer(this, recipient, amountCents);
+    }
+
+    public BankingOutcome tryTransferTo(BankAccount recipient, long amountCents) {
+        return transfers.tryTransfer(this, recipient, amountCents);
+    }
+
+    /**
+     * Deposit funds
+     * BEST PRACTICE: Simple validation without unnecessary exceptions
+     */
+    public void deposit(long amountCents) throws BankingException {
+        if (amountCents <= 0) {
+            // GOOD: Use standard exception for programming errors
+            throw new IllegalArgumentException("Deposit amount must be positive");
+        }
+
+        long sequence;
+        lock.lock();
+        try {
+            validateAccountStatus();
+            depositLocked(amountCents);
+            sequence = ledgerSequence;
+        } catch (IOException e) {
+            throw Ledger.writeFailed(e);
+        } finally {
+            lock.unlock();
+        }
+
+        awaitDurable(sequence);
+        logDeposit(amountCents);
+    }
+
+    public BankingOutcome tryDeposit(long amountCents) {
+        if (amountCents <= 0) {
+            return BankingOutcome.INVALID_AMOUNT;
+        }
+
+        BankingOutcome outcome;
+        long sequence;
+        lock.lock();
+        try {
+            outcome = statusOutcome();
+            if (outcome.isOk()) {
+                depositLocked(amountCents);
+            }
+            sequence = ledgerSequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+
+        if (outcome.isOk()) {
+            awaitDurableUnchecked(sequence);
+            logDeposit(amountCents);
+        }
+        return outcome;
+    }
+
+    private BankingOutcome withdrawLocked(long amountCents) throws IOException {
+        BankingOutcome outcome = statusOutcome();
+        if (outcome.isOk()) {
+            outcome = fundsOutcome(amountCents);
+        }
+        if (outcome.isOk()) {
+            journal(Ledger.EntryType.WITHDRAW, amountCents);
+            applyDebit(amountCents);
+        }
+        return outcome;
+    }
+
+    private void depositLocked(long amountCents) throws IOException {
+        // GOOD: Like the funds check for debits: an entry is only journaled if it is sure to apply
+        checkCredit(amountCents);
+        journal(Ledger.EntryType.DEPOSIT, amountCents);
+        credit(amountCents);
+    }
+
+    // Caller holds lock; a no-op for accounts without a ledger
+    private void journal(Ledger.EntryType type, long amountCents) throws IOException {
+        if (ledger != null) {
+            ledgerSequence = ledger.append(type, accountId, null, amountCents);
+        }
+    }
+
+    // GOOD: Called after releasing the lock, so an fsync never blocks other operations on this account
+    private void awaitDurable(long sequence) throws BankingException {
+        if (ledger != null) {
+            try {
+                ledger.awaitDurable(sequence);
+            } catch (IOException e) {
+                throw Ledger.notDurable(e);
+            }
+        }
+    }
+
+    private void awaitDurableUnchecked(long sequence) {
+        if (ledger != null) {
+            try {
+                ledger.awaitDurable(sequence);
+            } catch (IOException e) {
+                throw Ledger.notDurableUnchecked(e);
+            }
+        }
+    }
+
+    // PERFORMANCE: BankingLog checks the level before formatting anything, and can log asynchronously
+    private void logWithdrawal(long amountCents) {
+        BankingLog.log(logger, BankingLog.Event.WITHDRAWAL, accountId, null, amountCents);
+    }
+
+    private void logDeposit(long amountCents) {
+        BankingLog.log(logger, BankingLog.Event.DEPOSIT, accountId, null, amountCents);
+    }
+
+    /**
+     * GOOD: Helper methods for validation and balance updates.
+     * The caller must hold lock.
+     */
+    void validateAccountStatus() throws InvalidAccountException {
+        if (!active) {
+            throw new InvalidAccountException(accountId, "Account is inactive");
+        }
+    }
+
+    void debit(long amountCents) throws InsufficientFundsException {
+        checkFunds(amountCents);
+        applyDebit(amountCents);
+    }
+
+    // For callers that already checked fundsOutcome under the same lock hold
+    void applyDebit(long amountCents) {
+        balanceCents -= amountCents;
+    }
+
+    // Lets a caller journal a debit before applying it, knowing it will succeed
+    void checkFunds(long amountCents) throws InsufficientFundsException {
+        // GOOD: Business logic validation with custom exception
+        if (amountCents > balanceCents) {
+            throw new InsufficientFundsException(amountCents, balanceCents);
+        }
+    }
+
+    void credit(long amountCents) {
+        // GOOD: Overflow fails loudly instead of wrapping
+        balanceCents = Math.addExact(balanceCents, amountCents);
+    }
+
+    // Lets a caller check a credit before debiting or journaling anything, so an overflow changes nothing
+    void checkCredit(long amountCents) {
+        if (amountCents > Long.MAX_VALUE - balanceCents) {
+            throw new ArithmeticException("Balance overflow on account " + accountId);
+        }
+    }
+
+    // Non-throwing forms of validateAccountStatus and checkFunds
+    BankingOutcome statusOutcome() {
+        return active ? BankingOutcome.OK : BankingOutcome.INACTIVE_ACCOUNT;
+    }
+
+    BankingOutcome fundsOutcome(long amountCents) {
+        return amountCents > balanceCents ? BankingOutcome.INSUFFICIENT_FUNDS : BankingOutcome.OK;
+    }
+
+    /**
+     * The exception the throwing API reports for a rejected outcome on this
+     * account.
+     */
+    BankingException rejection(BankingOutcome outcome, long amountCents) {
+        return switch (outcome) {
+            case INSUFFICIENT_FUNDS -> new InsufficientFundsException(amountCents, balanceCents);
+            case INACTIVE_ACCOUNT -> new InvalidAccountException(accountId, "Account is inactive");
+            case OK, INVALID_AMOUNT, UNKNOWN_ACCOUNT -> throw new IllegalArgumentException("Not an account rejection: " + outcome);
+        };
+    }
+
+    // PERFORMANCE: Long cents can't be NaN or Infinity; one comparison is enough
+    static void validateAmount(long amountCents) {
+        if (amountCents <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+    }
+
+    public long getBalanceCents() {
+        lock.lock();
+        try {
+            return balanceCents;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public boolean isActive() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A ledger failure surfaces as UncheckedIOException. If the entry could
+     * not be written the account stays active; if it was written but could
+     * not be made durable, the account is already inactive.
+     */
+    public void deactivate() {
+        try {
+            deactivateJournaled();
+        } catch (BankingException e) {
+            throw new UncheckedIOException(e.getMessage(), (IOException) e.getCause());
+        }
+    }
+
+    // Throwing form of deactivate, for AccountRegistry; only ledger failures throw
+    void deactivateJournaled() throws BankingException {
+        long sequence;
+        lock.lock();
+        try {
+            if (!active) {
+                // Nothing to journal; also covers an account whose OPEN entry failed
+                return;
+            }
+            journal(Ledger.EntryType.DEACTIVATE, 0);
+            this.active = false;
+            sequence = ledgerSequence;
+        } catch (IOException e) {
+            throw Ledger.writeFailed(e);
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(sequence);
+    }
+
+    // For replaying a journaled deactivation; the caller holds lock
+    void applyDeactivate() {
+        active = false;
+    }
+}
@@ -0,0 +1,54 @@
+package Module8discussionpost;
+
+/**
+ * Base custom exception for application-specific errors
+ * BEST PRACTICE: Extends Exception for checked exceptions that must be handled
+ *
+ * PERFORMANCE: Expected business rejections (insufficient funds, inactive
+ * account) can be frequent, e.g. under probing traffic. Their messages are
+ * built only when asked for, and with -Dcsc450.banking.stacklessRejections=true
+ * they also skip capturing a stack trace, which is most of the cost of
+ * constructing an exception.
+ */
+class BankingException extends Exception {
+    static final boolean STACKLESS_REJECTIONS = Boolean.getBoolean("csc450.banking.stacklessRejections");
+
+    private final String errorCode;
+    private final long timestamp;
+
+    public BankingException(String message, String errorCode) {
+        super(message);
+        this.errorCode = errorCode;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public BankingException(String message, String errorCode, Throwable cause) {
+        super(message, cause);
+        this.errorCode = errorCode;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * For business rejections: no message up front (the subclass overrides
+     * getMessage) and a stack trace only if STACKLESS_REJECTIONS is off.
+     */
+    protected BankingException(String errorCode) {
+        super(null, null, true, !STACKLESS_REJECTIONS);
+        this.errorCode = errorCode;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BankingException[code=%s, time=%d]: %s",
+                errorCode, timestamp, getMessage());
+    }
+}
@@ -0,0 +1,264 @@
+package Module8discussionpost;
+
+/**
+ * CSC450 Module 8 - Allocation-light, optionally asynchronous operation log
+ *
+ * BankAccount and TransferEngine log every successful withdrawal, deposit,
+ * transfer and batch at INFO through here, to their own JUL loggers, so
+ * existing logger levels and handlers keep working.
+ *
+ * PERFORMANCE:
+ * - The level is checked before anything is formatted or allocated; with
+ *   INFO off a call costs one comparison
+ * - Records carry their source class and method explicitly, so JUL never
+ *   walks the stack to infer them
+ * - With -Dcsc450.banking.asyncLogging=true the caller only copies the raw
+ *   values (account ids, cents) into a preallocated ring slot; a background
+ *   thread builds the LogRecord, formats the amounts and runs the handlers.
+ *   If the ring is full the record is dropped and counted rather than
+ *   blocking the operation, and the writer logs a WARNING with the count.
+ */
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+final class BankingLog {
+    static final boolean ASYNC = Boolean.getBoolean("csc450.banking.asyncLogging");
+    static final int RING_CAPACITY = 1 << 14;
+    static final long FLUSH_TIMEOUT_MILLIS = 5_000;
+
+    private static final Logger logger = Logger.getLogger(BankingLog.class.getName());
+    private static final Ring ring = ASYNC ? Ring.start(RING_CAPACITY) : null;
+
+    enum Event {
+        WITHDRAWAL("withdraw", "Withdrawal successful: {0} from account {1}"),
+        DEPOSIT("deposit", "Deposit successful: {0} to account {1}"),
+        TRANSFER("transfer", "Transfer successful: {0} from {1} to {2}"),
+        BATCH("transferBatch", "Batch transfer: {0} of {1} legs applied, {2} moved");
+
+        private final String method;
+        private final String pattern;
+
+        Event(String method, String pattern) {
+            this.method = method;
+            this.pattern = pattern;
+        }
+
+        private Object[] parameters(String accountId, String otherId, long amountCents, long applied, long total) {
+            return switch (this) {
+                case WITHDRAWAL, DEPOSIT -> new Object[] { Money.format(amountCents), accountId };
+                case TRANSFER -> new Object[] { Money.format(amountCents), accountId, otherId };
+                case BATCH -> new Object[] { applied, total, Money.format(amountCents) };
+            };
+        }
+    }
+
+    private BankingLog() {
+    }
+
+    /**
+     * Logs a withdrawal, deposit (otherId null) or transfer at INFO.
+     */
+    static void log(Logger target, Event event, String accountId, String otherId, long amountCents) {
+        log(target, event, accountId, otherId, amountCents, 0, 0);
+    }
+
+    static void logBatch(Logger target, int applied, int total, long amountCents) {
+        log(target, Event.BATCH, null, null, amountCents, applied, total);
+    }
+
+    /**
+     * Blocks until every record published so far has been handed to its
+     * logger's handlers. Does nothing in synchronous mode. Gives up after
+     * FLUSH_TIMEOUT_MILLIS, or at once if the writer thread has died, so a
+     * stuck handler can't hang the caller or JVM exit.
+     */
+    static void flush() {
+        if (ring != null) {
+            ring.flush();
+        }
+    }
+
+    /**
+     * Records dropped because the ring was full, since startup.
+     */
+    static long droppedRecords() {
+        return ring == null ? 0 : ring.dropped.sum();
+    }
+
+    private static void log(Logger target, Event event, String accountId, String otherId, long amountCents,
+            long applied, long total) {
+        // PERFORMANCE: Level check first; nothing is formatted or allocated when INFO is off
+        if (!target.isLoggable(Level.INFO)) {
+            return;
+        }
+        if (ring != null) {
+            ring.offer(target, event, accountId, otherId, amountCents, applied, total);
+        } else {
+            target.logp(Level.INFO, target.getName(), event.method, event.pattern,
+                    event.parameters(accountId, otherId, amountCents, applied, total));
+        }
+    }
+
+    // One preallocated entry; sequence is written last, publishing the other fields
+    private static final class Slot {
+        volatile long sequence = -1;
+        Logger target;
+        Event event;
+        String accountId;
+        String otherId;
+        long amountCents;
+        long applied;
+        long total;
+        long millis;
+        long threadId;
+    }
+
+    /**
+     * Multi-producer, single-consumer ring. Producers claim a sequence with
+     * a CAS, fill the slot and publish it; the writer thread consumes slots
+     * in sequence order.
+     */
+    private static final class Ring implements Runnable {
+        private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+        private static final int DROP_REPORT_INTERVAL = 1024;
+
+        private final Slot[] slots;
+        private final int mask;
+        private final AtomicLong claimed = new AtomicLong();
+        private final LongAdder dropped = new LongAdder();
+        // consumed frees slots for producers; logged (after the handlers ran) is what flush waits for
+        private volatile long consumed;
+        private volatile long logged;
+        private long droppedReported;
+        private Thread writer;
+
+        private Ring(int capacity) {
+            slots = new Slot[capacity];
+            for (int i = 0; i < capacity; i++) {
+                slots[i] = new Slot();
+            }
+            mask = capacity - 1;
+        }
+
+        static Ring start(int capacity) {
+            Ring ring = new Ring(capacity);
+            Thread writer = new Thread(ring, "banking-log-writer");
+            writer.setDaemon(true);
+            ring.writer = writer;
+            writer.start();
+            // Best effort: hand queued records to the handlers before the JVM exits
+            Runtime.getRuntime().addShutdownHook(new Thread(ring::flush, "banking-log-flush"));
+            return ring;
+        }
+
+        void offer(Logger target, Event event, String accountId, String otherId, long amountCents,
+                long applied, long total) {
+            long sequence;
+            do {
+                sequence = claimed.get();
+                if (sequence - consumed >= slots.length) {
+                    // GOOD: A full ring costs the caller a counter increment, never a wait
+                    dropped.increment();
+                    return;
+                }
+            } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+            Slot slot = slots[(int) (sequence & mask)];
+            slot.target = target;
+            slot.event = event;
+            slot.accountId = accountId;
+            slot.otherId = otherId;
+            slot.amountCents = amountCents;
+            slot.applied = applied;
+            slot.total = total;
+            slot.millis = System.currentTimeMillis();
+            slot.threadId = Thread.currentThread().threadId();
+            slot.sequence = sequence;
+        }
+
+        void flush() {
+            long target = claimed.get();
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_TIMEOUT_MILLIS);
+            while (logged < target && writer.isAlive() && System.nanoTime() - deadline < 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+
+        @Override
+        public void run() {
+            long next = 0;
+            while (true) {
+                Slot slot = slots[(int) (next & mask)];
+                if (slot.sequence != next) {
+                    reportDrops();
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+
+                Logger target = slot.target;
+                LogRecord record = null;
+                try {
+                    record = toRecord(slot);
+                } catch (Throwable e) {
+                    reportFailure("Log record could not be built", e);
+                }
+                slot.target = null;
+                slot.accountId = null;
+                slot.otherId = null;
+                // Slot is free for reuse as soon as its values are copied out
+                consumed = ++next;
+
+                if (record != null) {
+                    try {
+                        target.log(record);
+                    } catch (Throwable e) {
+                        // Keep the writer alive, even for an Error; one bad handler must not stop all logging
+                        reportFailure("Log handler failed", e);
+                    }
+                }
+                logged = next;
+
+                if ((next & (DROP_REPORT_INTERVAL - 1)) == 0) {
+                    reportDrops();
+                }
+            }
+        }
+
+        private static LogRecord toRecord(Slot slot) {
+            Logger target = slot.target;
+            Event event = slot.event;
+            LogRecord record = new LogRecord(Level.INFO, event.pattern);
+            record.setParameters(event.parameters(slot.accountId, slot.otherId, slot.amountCents,
+                    slot.applied, slot.total));
+            record.setInstant(Instant.ofEpochMilli(slot.millis));
+            record.setLongThreadID(slot.threadId);
+            record.setLoggerName(target.getName());
+            record.setSourceClassName(target.getName());
+            record.setSourceMethodName(event.method);
+            return record;
+        }
+
+        private static void reportFailure(String message, Throwable failure) {
+            try {
+                logger.log(Level.SEVERE, message, failure);
+            } catch (Throwable ignored) {
+                // Nowhere left to report it
+            }
+        }
+
+        private void reportDrops() {
+            long total = dropped.sum();
+            if (total > droppedReported) {
+                logger.log(Level.WARNING, "{0} log records dropped: ring buffer full", total - droppedReported);
+                droppedReported = total;
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package Module8discussionpost;
+
+/**
+ * CSC450 Module 8 - Result codes for the non-throwing banking API
+ *
+ * tryWithdraw, tryDeposit and tryTransfer report expected business
+ * rejections by returning one of these constants instead of throwing.
+ * Enum constants are allocated once, so a rejection costs no more than a
+ * success. Programming errors (null or identical accounts) still throw
+ * IllegalArgumentException. UNKNOWN_ACCOUNT is only returned by the
+ * AccountRegistry forms, which look accounts up by id.
+ *
+ * The throwing methods (withdraw, deposit, transfer) run the same checks
+ * and turn a rejected outcome into the matching BankingException.
+ */
+enum BankingOutcome {
+    OK,
+    INSUFFICIENT_FUNDS,
+    INACTIVE_ACCOUNT,
+    INVALID_AMOUNT,
+    UNKNOWN_ACCOUNT;
+
+    boolean isOk() {
+        return this == OK;
+    }
+}
@@ -0,0 +1,134 @@
+package Module8discussionpost;
+
+/**
+ * CSC450 Module 8 - Thread-safe bank account
+ *
+ * BankAccount serializes every operation on its per-account lock, so one
+ * hot account queues all of its callers. This account keeps the balance as
+ * a whole number of cents in an AtomicLong instead:
+ * - withdraw is a compare-and-set loop, so the funds check and the debit
+ *   happen atomically and the balance can never go negative
+ * - deposit is a compare-and-set loop too, so a balance that would pass
+ *   Long.MAX_VALUE throws ArithmeticException instead of wrapping negative
+ * No lock is taken, so many threads can hit one hot account without
+ * queueing behind a monitor.
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+class ConcurrentBankAccount {
+    private final String accountId;
+    private final AtomicLong balanceCents;
+    private volatile boolean active;
+    private static final Logger logger = Logger.getLogger(ConcurrentBankAccount.class.getName());
+
+    public ConcurrentBankAccount(String accountId, long initialBalanceCents) {
+        if (accountId == null || accountId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Account ID cannot be null or empty");
+        }
+        if (initialBalanceCents < 0) {
+            throw new IllegalArgumentException("Initial balance cannot be negative");
+        }
+
+        this.accountId = accountId;
+        this.balanceCents = new AtomicLong(initialBalanceCents);
+        this.active = true;
+    }
+
+    /**
+     * Withdraw funds atomically
+     * BEST PRACTICE: Check and debit in one CAS so two threads can't both spend the same cents
+     */
+    public void withdraw(long amountCents) throws BankingException {
+        validateAccountStatus();
+        validateAmount(amountCents);
+
+        long current;
+        do {
+            current = balanceCents.get();
+            if (amountCents > current) {
+                throw new InsufficientFundsException(amountCents, current);
+            }
+        } while (!balanceCents.compareAndSet(current, current - amountCents));
+
+        // PERFORMANCE: Guard so a hot account doesn't serialize on the log handler
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Withdrawal successful: {0} cents from account {1}",
+                    new Object[] { amountCents, accountId });
+        }
+    }
+
+    /**
+     * Deposit funds atomically
+     */
+    public void deposit(long amountCents) throws InvalidAccountException {
+        validateAccountStatus();
+        validateAmount(amountCents);
+
+        add(amountCents);
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Deposit successful: {0} cents to account {1}",
+                    new Object[] { amountCents, accountId });
+        }
+    }
+
+    /**
+     * Transfer funds to another account
+     * Each leg is atomic, but the pair is not: another thread can observe the
+     * money after it leaves this account and before it reaches the recipient.
+     */
+    public void transferTo(ConcurrentBankAccount recipient, long amountCents) throws BankingException {
+        if (recipient == null) {
+            throw new IllegalArgumentException("Recipient account cannot be null");
+        }
+        recipient.validateAccountStatus();
+
+        withdraw(amountCents);
+        try {
+            recipient.deposit(amountCents);
+        } catch (InvalidAccountException e) {
+            // GOOD: Refund if the recipient was deactivated between the check and the deposit
+            add(amountCents);
+            throw new BankingException("Transfer failed: " + e.getMessage(), "TRANSFER_FAILED", e);
+        } catch (ArithmeticException e) {
+            // GOOD: The recipient can't hold the amount; refund rather than lose the money
+            add(amountCents);
+            throw e;
+        }
+    }
+
+    // GOOD: Not fetch-and-add, which would wrap silently; addExact fails before the CAS
+    private void add(long amountCents) {
+        long current;
+        do {
+            current = balanceCents.get();
+        } while (!balanceCents.compareAndSet(current, Math.addExact(current, amountCents)));
+    }
+
+    private void validateAccountStatus() throws InvalidAccountException {
+        if (!active) {
+            throw new InvalidAccountException(accountId, "Account is inactive");
+        }
+    }
+
+    private static void validateAmount(long amountCents) {
+        if (amountCents <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+    }
+
+    public long getBalanceCents() {
+        return balanceCents.get();
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void deactivate() {
+        this.active = false;
+    }
+}
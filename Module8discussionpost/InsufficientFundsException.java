@@ -0,0 +1,35 @@
+package Module8discussionpost;
+
+/**
+ * Specific exception for insufficient funds
+ * BEST PRACTICE: Create specific exception types for different error conditions
+ */
+class InsufficientFundsException extends BankingException {
+    private final long requestedCents;
+    private final long availableCents;
+
+    public InsufficientFundsException(long requestedCents, long availableCents) {
+        super("INSUF_FUNDS");
+        this.requestedCents = requestedCents;
+        this.availableCents = availableCents;
+    }
+
+    // PERFORMANCE: Formatted on demand; callers that only check the type never pay for it
+    @Override
+    public String getMessage() {
+        return "Insufficient funds: requested " + Money.format(requestedCents)
+                + ", available " + Money.format(availableCents);
+    }
+
+    public long getRequestedCents() {
+        return requestedCents;
+    }
+
+    public long getAvailableCents() {
+        return availableCents;
+    }
+
+    public long getShortfallCents() {
+        return requestedCents - availableCents;
+    }
+}
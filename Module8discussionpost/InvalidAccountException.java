@@ -0,0 +1,25 @@
+package Module8discussionpost;
+
+/**
+ * Exception for invalid account operations
+ * BEST PRACTICE: Provide meaningful context in exception messages
+ */
+class InvalidAccountException extends BankingException {
+    private final String accountId;
+    private final String reason;
+
+    public InvalidAccountException(String accountId, String reason) {
+        super("INVALID_ACCT");
+        this.accountId = accountId;
+        this.reason = reason;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Invalid account " + accountId + ": " + reason;
+    }
+}
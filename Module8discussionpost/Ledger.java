@@ -0,0 +1,571 @@
+package Module8discussionpost;
+
+/**
+ * CSC450 Module 8 - Append-only write-ahead ledger
+ *
+ * Every balance change is appended here before it is applied, so balances
+ * can be rebuilt after a restart by replaying the file. Records are framed
+ * with a length and a CRC32C; replay stops at the first torn or corrupt
+ * record, which is where a crash mid-write leaves the file.
+ *
+ * PERFORMANCE:
+ * - Appends only copy into a buffer under a short lock; writes to the
+ *   FileChannel happen in large chunks
+ * - fsync is the expensive part, so it is grouped: while one thread forces
+ *   the channel, others keep appending, and the next force covers all of
+ *   them (group commit)
+ * - The SyncPolicy trades durability for throughput: force every op, every
+ *   N ops, or every N milliseconds from a background thread
+ * - A Checkpoint (sequence plus file offset) lets recovery start at the
+ *   tail after a Snapshot instead of replaying the whole file
+ *
+ * Writes and forces run on two "ledger-io" threads, never on the caller's
+ * thread. Interrupting a thread inside FileChannel I/O closes the channel
+ * for everyone, so one interrupted caller would otherwise end the ledger;
+ * instead callers wait for their I/O uninterruptibly and keep the
+ * interrupt status set.
+ *
+ * The first failed write or force fails the ledger for good: a write that
+ * failed partway may have left a torn frame, and replay stops there, so
+ * anything written after it would be acknowledged and then lost. From then
+ * on append, sync, mark and awaitDurable throw an IOException whose cause
+ * is the original failure.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+final class Ledger implements Closeable {
+
+    enum EntryType {
+        OPEN, DEPOSIT, WITHDRAW, TRANSFER, DEACTIVATE;
+
+        private static final EntryType[] VALUES = values();
+    }
+
+    /**
+     * When appended entries are forced to disk.
+     */
+    record SyncPolicy(Mode mode, long interval) {
+        enum Mode { EVERY_OP, EVERY_N_OPS, EVERY_N_MILLIS }
+
+        SyncPolicy {
+            if (mode != Mode.EVERY_OP && interval <= 0) {
+                throw new IllegalArgumentException("Sync interval must be positive");
+            }
+        }
+
+        static SyncPolicy everyOp() {
+            return new SyncPolicy(Mode.EVERY_OP, 1);
+        }
+
+        static SyncPolicy everyOps(long ops) {
+            return new SyncPolicy(Mode.EVERY_N_OPS, ops);
+        }
+
+        static SyncPolicy everyMillis(long millis) {
+            return new SyncPolicy(Mode.EVERY_N_MILLIS, millis);
+        }
+
+        /**
+         * "op", "1000ops" or "10ms".
+         */
+        static SyncPolicy parse(String text) {
+            if (text.equals("op")) {
+                return everyOp();
+            }
+            if (text.endsWith("ops")) {
+                return everyOps(Long.parseLong(text.substring(0, text.length() - 3)));
+            }
+            if (text.endsWith("ms")) {
+                return everyMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+            }
+            throw new IllegalArgumentException("Unknown sync policy: " + text);
+        }
+    }
+
+    /**
+     * One replayed entry; otherId is only set for TRANSFER (the recipient).
+     */
+    record Entry(long sequence, EntryType type, String accountId, String otherId, long amountCents) {
+    }
+
+    /**
+     * A position in the ledger: every entry before offset has a sequence of
+     * at most sequence, every entry from offset on is newer.
+     */
+    record Checkpoint(long sequence, long offset) {
+        static final Checkpoint START = new Checkpoint(0, 0);
+    }
+
+    @FunctionalInterface
+    interface EntryVisitor {
+        void visit(Entry entry) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ChannelTask {
+        void run() throws IOException;
+    }
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    // length + crc
+    private static final int HEADER_BYTES = 8;
+    // type + sequence + amount + two id lengths
+    private static final int FIXED_BODY_BYTES = 1 + 8 + 8 + 2 + 2;
+    private static final int MAX_ID_BYTES = Short.MAX_VALUE;
+    private static final Logger logger = Logger.getLogger(Ledger.class.getName());
+
+    private final FileChannel channel;
+    private final SyncPolicy policy;
+    private final ScheduledExecutorService syncer;
+    // One thread for drains (under appendLock), one for forces (under syncLock), so neither waits on the other
+    private final ExecutorService io = Executors.newFixedThreadPool(2, daemonThreads("ledger-io"));
+
+    // GOOD: appendLock covers the buffer and channel writes; syncLock only the force
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final ByteBuffer buffer;
+    private final CRC32C crc = new CRC32C();
+    private long lastSequence;
+    private long writtenOffset;
+    private volatile long writtenSequence;
+    private volatile long durableSequence;
+    // First I/O failure; once set, nothing more is written
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+
+    private Ledger(FileChannel channel, SyncPolicy policy, long lastSequence, long writtenOffset, int bufferSize) {
+        this.channel = channel;
+        this.policy = policy;
+        this.lastSequence = lastSequence;
+        this.writtenOffset = writtenOffset;
+        this.writtenSequence = lastSequence;
+        this.durableSequence = lastSequence;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+
+        if (policy.mode() == SyncPolicy.Mode.EVERY_N_MILLIS) {
+            syncer = Executors.newSingleThreadScheduledExecutor(daemonThreads("ledger-sync"));
+            syncer.scheduleWithFixedDelay(this::backgroundSync, policy.interval(), policy.interval(),
+                    TimeUnit.MILLISECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    /**
+     * Opens (or creates) a ledger for appending. An existing file is scanned
+     * first; a torn record at the end is truncated away and numbering
+     * continues after the last good entry.
+     */
+    static Ledger open(Path file, SyncPolicy policy) throws IOException {
+        return open(file, policy, Checkpoint.START);
+    }
+
+    /**
+     * Opens a ledger whose entries up to from are already accounted for (by
+     * a Snapshot); only the tail after from is scanned.
+     */
+    static Ledger open(Path file, SyncPolicy policy, Checkpoint from) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long[] lastSequence = { from.sequence() };
+            long validEnd = scan(channel, from.offset(), entry -> lastSequence[0] = entry.sequence());
+            if (validEnd < channel.size()) {
+                logger.log(Level.WARNING, "Truncating {0} bytes of torn ledger tail in {1}",
+                        new Object[] { channel.size() - validEnd, file });
+                channel.truncate(validEnd);
+            }
+            channel.position(validEnd);
+            return new Ledger(channel, policy, lastSequence[0], validEnd, DEFAULT_BUFFER_SIZE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads every intact entry of file in order. Returns the last sequence
+     * number seen, or 0 for an empty ledger.
+     */
+    static long replay(Path file, EntryVisitor visitor) throws IOException {
+        return replay(file, Checkpoint.START, visitor);
+    }
+
+    /**
+     * Reads the intact entries after from. Returns the last sequence number
+     * seen, or from's sequence if there are none.
+     */
+    static long replay(Path file, Checkpoint from, EntryVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] lastSequence = { from.sequence() };
+            scan(channel, from.offset(), entry -> {
+                visitor.visit(entry);
+                lastSequence[0] = entry.sequence();
+            });
+            return lastSequence[0];
+        }
+    }
+
+    /**
+     * Appends one entry and returns its sequence number. The caller holds the
+     * locks of the accounts involved, so entries for an account are in the
+     * same order as the changes. The entry is durable only after
+     * awaitDurable(sequence) returns.
+     */
+    long append(EntryType type, String accountId, String otherId, long amountCents) throws IOException {
+        byte[] id = accountId.getBytes(StandardCharsets.UTF_8);
+        byte[] other = otherId == null ? null : otherId.getBytes(StandardCharsets.UTF_8);
+        int otherLength = other == null ? 0 : other.length;
+        if (id.length > MAX_ID_BYTES || otherLength > MAX_ID_BYTES) {
+            throw new IllegalArgumentException("Account ID too long for the ledger");
+        }
+        int bodyLength = FIXED_BODY_BYTES + id.length + otherLength;
+        int recordLength = HEADER_BYTES + bodyLength;
+        if (recordLength > buffer.capacity()) {
+            throw new IllegalArgumentException("Ledger entry larger than the write buffer");
+        }
+
+        appendLock.lock();
+        try {
+            checkNotFailed();
+            if (buffer.remaining() < recordLength) {
+                drain();
+            }
+            long sequence = ++lastSequence;
+
+            int start = buffer.position();
+            buffer.putInt(bodyLength).putInt(0);
+            buffer.put((byte) type.ordinal()).putLong(sequence).putLong(amountCents);
+            buffer.putShort((short) id.length).put(id);
+            buffer.putShort((short) otherLength);
+            if (other != null) {
+                buffer.put(other);
+            }
+
+            crc.reset();
+            crc.update(buffer.slice(start + HEADER_BYTES, bodyLength));
+            buffer.putInt(start + 4, (int) crc.getValue());
+            return sequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the sync policy for an appended entry: under EVERY_OP this
+     * returns once the entry is on disk; EVERY_N_OPS forces when the
+     * unsynced backlog reaches N; EVERY_N_MILLIS leaves it to the
+     * background thread.
+     */
+    void awaitDurable(long sequence) throws IOException {
+        // GOOD: Also reports a failure of the background sync, which has no caller to throw to
+        checkNotFailed();
+        switch (policy.mode()) {
+            case EVERY_OP -> {
+                if (durableSequence < sequence) {
+                    sync();
+                }
+            }
+            case EVERY_N_OPS -> {
+                if (sequence - durableSequence >= policy.interval()) {
+                    sync();
+                }
+            }
+            case EVERY_N_MILLIS -> {
+                // Background thread forces on its own schedule
+            }
+        }
+    }
+
+    /**
+     * Writes out everything appended so far and forces it to disk.
+     */
+    void sync() throws IOException {
+        checkNotFailed();
+        long target;
+        appendLock.lock();
+        try {
+            drain();
+            target = lastSequence;
+        } finally {
+            appendLock.unlock();
+        }
+
+        // GOOD: Group commit; whoever forces covers every entry written before it started
+        syncLock.lock();
+        try {
+            if (durableSequence >= target) {
+                return;
+            }
+            long covered = writtenSequence;
+            onIoThread(() -> channel.force(false));
+            durableSequence = covered;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * The banking-layer error for a ledger that could not be written.
+     */
+    static BankingException writeFailed(IOException cause) {
+        return new BankingException("Ledger write failed: " + cause.getMessage(), "LEDGER_IO", cause);
+    }
+
+    /**
+     * The banking-layer error for a change that was applied in memory but
+     * could not be made durable. The change is not rolled back, and may not
+     * survive a restart; the ledger has failed, so it refuses every later
+     * change.
+     */
+    static BankingException notDurable(IOException cause) {
+        return new BankingException("Applied in memory but not durable: " + cause.getMessage(),
+                "LEDGER_NOT_DURABLE", cause);
+    }
+
+    /**
+     * notDurable for the non-throwing try* API.
+     */
+    static UncheckedIOException notDurableUnchecked(IOException cause) {
+        return new UncheckedIOException("Applied in memory but not durable: " + cause.getMessage(), cause);
+    }
+
+    /**
+     * Writes out everything appended so far and returns where the file ends.
+     * Entries appended later are all after the returned checkpoint.
+     */
+    Checkpoint mark() throws IOException {
+        appendLock.lock();
+        try {
+            checkNotFailed();
+            drain();
+            return new Checkpoint(lastSequence, writtenOffset);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    long lastSequence() {
+        appendLock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    long durableSequence() {
+        return durableSequence;
+    }
+
+    /**
+     * Stops the background sync, forces everything appended so far and
+     * closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (syncer != null) {
+            // GOOD: shutdown, not shutdownNow: interrupting a sync in progress would close the channel
+            syncer.shutdown();
+            awaitTermination(syncer);
+        }
+        try {
+            sync();
+        } finally {
+            io.shutdown();
+            awaitTermination(io);
+            channel.close();
+        }
+    }
+
+    // Caller holds appendLock
+    private void drain() throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        int length = buffer.remaining();
+        onIoThread(() -> {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        });
+        writtenOffset += length;
+        buffer.clear();
+        writtenSequence = lastSequence;
+    }
+
+    // Runs task on an io thread and waits for it, ignoring interrupts until it is done
+    private void onIoThread(ChannelTask task) throws IOException {
+        Future<?> result;
+        try {
+            result = io.submit(() -> {
+                task.run();
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            throw new ClosedChannelException();
+        }
+
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    result.get();
+                    return;
+                } catch (InterruptedException e) {
+                    // The write or force can't be abandoned halfway; finish, then restore the interrupt
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    IOException ioFailure = cause instanceof IOException ioException ? ioException
+                            : new IOException("Ledger I/O failed", cause);
+                    // GOOD: Latch the failure; the file may now end in a torn frame
+                    if (failure.compareAndSet(null, ioFailure)) {
+                        logger.log(Level.SEVERE, "Ledger failed; no further entries will be written", ioFailure);
+                    }
+                    throw ioFailure;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void checkNotFailed() throws IOException {
+        IOException cause = failure.get();
+        if (cause != null) {
+            throw new IOException("Ledger failed earlier: " + cause, cause);
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        boolean interrupted = false;
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private void backgroundSync() {
+        if (failure.get() != null) {
+            // Already reported when it failed; callers see it from awaitDurable
+            return;
+        }
+        try {
+            sync();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Background ledger sync failed", e);
+        }
+    }
+
+    /**
+     * Visits intact entries of channel from start on and returns the offset
+     * just past the last one.
+     */
+    private static long scan(FileChannel channel, long start, EntryVisitor visitor) throws IOException {
+        if (channel.size() < start) {
+            throw new IOException("Ledger is shorter than its checkpoint offset " + start);
+        }
+        InputStream raw = Channels.newInputStream(channel.position(start));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(raw, DEFAULT_BUFFER_SIZE));
+        CRC32C check = new CRC32C();
+        byte[] body = new byte[256];
+        long offset = start;
+
+        while (true) {
+            int bodyLength;
+            int expectedCrc;
+            try {
+                bodyLength = in.readInt();
+                expectedCrc = in.readInt();
+                if (bodyLength < FIXED_BODY_BYTES || bodyLength > FIXED_BODY_BYTES + 2 * MAX_ID_BYTES) {
+                    return offset;
+                }
+                if (body.length < bodyLength) {
+                    body = new byte[Math.max(bodyLength, body.length * 2)];
+                }
+                in.readFully(body, 0, bodyLength);
+            } catch (EOFException e) {
+                return offset;
+            }
+
+            check.reset();
+            check.update(body, 0, bodyLength);
+            if ((int) check.getValue() != expectedCrc) {
+                return offset;
+            }
+
+            Entry entry = decode(ByteBuffer.wrap(body, 0, bodyLength));
+            if (entry == null) {
+                return offset;
+            }
+            visitor.visit(entry);
+            offset += HEADER_BYTES + bodyLength;
+        }
+    }
+
+    private static Entry decode(ByteBuffer body) {
+        int typeIndex = body.get();
+        if (typeIndex < 0 || typeIndex >= EntryType.VALUES.length) {
+            return null;
+        }
+        long sequence = body.getLong();
+        long amountCents = body.getLong();
+        String accountId = readId(body);
+        String otherId = readId(body);
+        return new Entry(sequence, EntryType.VALUES[typeIndex], accountId, otherId, amountCents);
+    }
+
+    private static String readId(ByteBuffer body) {
+        int length = body.getShort();
+        if (length == 0) {
+            return null;
+        }
+        String id = new String(body.array(), body.arrayOffset() + body.position(), length, StandardCharsets.UTF_8);
+        body.position(body.position() + length);
+        return id;
+    }
+}
@@ -0,0 +1,55 @@
+package Module8discussionpost;
+
+/**
+ * CSC450 Module 8 - Fixed-point money
+ *
+ * Amounts are plain longs holding a whole number of cents. Compared with
+ * double dollars:
+ * - Arithmetic is exact (0.10 + 0.20 is 30 cents, not 0.30000000000000004)
+ * - No boxing or allocation on the hot path
+ * - No NaN or Infinity to check for; overflow fails loudly via the
+ *   Math.*Exact methods instead of silently losing precision
+ * This class only holds the conversions and formatting.
+ */
+
+final class Money {
+    static final long CENTS_PER_DOLLAR = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Whole dollars to cents, e.g. ofDollars(25) is 2500.
+     */
+    static long ofDollars(long dollars) {
+        return Math.multiplyExact(dollars, CENTS_PER_DOLLAR);
+    }
+
+    /**
+     * Dollars and cents to cents, e.g. of(12, 34) is 1234.
+     */
+    static long of(long dollars, int cents) {
+        if (cents < 0 || cents >= CENTS_PER_DOLLAR) {
+            throw new IllegalArgumentException("Cents must be between 0 and 99");
+        }
+        return Math.addExact(ofDollars(dollars), cents);
+    }
+
+    /**
+     * Formats cents as dollars, e.g. 123456 as "$1234.56" and -5 as "-$0.05".
+     */
+    static String format(long cents) {
+        StringBuilder text = new StringBuilder(24);
+        if (cents < 0) {
+            text.append('-');
+        }
+        // Math.abs(cents) would overflow for Long.MIN_VALUE; quotient and remainder are safe
+        long dollars = Math.abs(cents / CENTS_PER_DOLLAR);
+        int remainder = (int) Math.abs(cents % CENTS_PER_DOLLAR);
+        text.append('$').append(dollars).append('.');
+        if (remainder < 10) {
+            text.append('0');
+        }
+        return text.append(remainder).toString();
+    }
+}
@@ -0,0 +1,241 @@
+package Module8discussionpost;
+
+/**
+ * CSC450 Module 8 - Memory-mapped account snapshots
+ *
+ * A snapshot is a compact binary copy of every account's balance, active
+ * flag and last applied ledger sequence, tagged with the Ledger.Checkpoint
+ * it was taken at. Recovery loads the snapshot and replays only the ledger
+ * tail after the checkpoint, instead of the whole ledger.
+ *
+ * Snapshots are fuzzy: accounts keep changing while one is written. Each
+ * account is copied under its own lock together with the sequence of the
+ * last entry applied to it, so replay can skip tail entries an account
+ * already reflects.
+ *
+ * PERFORMANCE:
+ * - Records are read through MappedByteBuffer regions and written through
+ *   one large direct buffer, so there is no per-record system call or
+ *   stream copy
+ * - A snapshot is written to a temporary file, forced, then renamed over
+ *   the old one and the directory forced; a crash mid-write leaves the
+ *   previous snapshot intact
+ *
+ * Layout: header (magic, version, checkpoint sequence and offset, account
+ * count), then per account: id length (short), UTF-8 id, balance in cents,
+ * ledger sequence, active flag (byte).
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+final class Snapshot {
+    private static final int MAGIC = 0x43534E50;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8;
+    // balance + ledger sequence + active flag
+    private static final int FIXED_RECORD_BYTES = 8 + 8 + 1;
+    private static final long REGION_BYTES = 64L << 20;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    @FunctionalInterface
+    interface AccountVisitor {
+        void visit(String accountId, long balanceCents, boolean active, long ledgerSequence);
+    }
+
+    private Snapshot() {
+    }
+
+    /**
+     * Starts a snapshot that replaces file on commit.
+     */
+    static Writer create(Path file, Ledger.Checkpoint checkpoint) throws IOException {
+        return new Writer(file, checkpoint);
+    }
+
+    /**
+     * Reads only the checkpoint from the header of file.
+     */
+    static Ledger.Checkpoint checkpoint(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readHeader(channel).checkpoint();
+        }
+    }
+
+    /**
+     * Visits every account in file and returns its checkpoint.
+     */
+    static Ledger.Checkpoint load(Path file, AccountVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            long size = channel.size();
+            long regionStart = HEADER_BYTES;
+            MappedByteBuffer region = map(channel, regionStart, size);
+            byte[] id = new byte[64];
+
+            for (long i = 0; i < header.accounts(); i++) {
+                // Remap at the record start when the next record straddles the region end
+                if (region.remaining() < 2
+                        || region.remaining() < 2 + region.getShort(region.position()) + FIXED_RECORD_BYTES) {
+                    regionStart += region.position();
+                    region = map(channel, regionStart, size);
+                    if (region.remaining() < 2) {
+                        throw new IOException("Snapshot truncated after " + i + " of " + header.accounts()
+                                + " accounts");
+                    }
+                }
+
+                int idLength = region.getShort();
+                if (id.length < idLength) {
+                    id = new byte[Math.max(idLength, id.length * 2)];
+                }
+                region.get(id, 0, idLength);
+                long balanceCents = region.getLong();
+                long ledgerSequence = region.getLong();
+                boolean active = region.get() != 0;
+                String accountId = new String(id, 0, idLength, StandardCharsets.UTF_8);
+                visitor.visit(accountId, balanceCents, active, ledgerSequence);
+            }
+            return header.checkpoint();
+        }
+    }
+
+    /**
+     * Appends accounts to a temporary file next to the target; commit()
+     * publishes it, close() without commit() discards it.
+     */
+    static final class Writer implements Closeable {
+        private final Path target;
+        private final Path temp;
+        private final Ledger.Checkpoint checkpoint;
+        private final FileChannel channel;
+        // GOOD: Not a mapping; a live READ_WRITE mapping would pin the file's size until the GC unmaps it
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+        private long accounts;
+        private boolean committed;
+
+        private Writer(Path target, Ledger.Checkpoint checkpoint) throws IOException {
+            this.target = target.toAbsolutePath();
+            this.temp = this.target.resolveSibling(this.target.getFileName() + ".tmp");
+            this.checkpoint = checkpoint;
+            this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // Header is written last, once the account count is known
+            channel.position(HEADER_BYTES);
+        }
+
+        /**
+         * Copies one account, reading its fields under its lock.
+         */
+        void add(BankAccount account) throws IOException {
+            long balanceCents;
+            boolean active;
+            long ledgerSequence;
+            account.lock.lock();
+            try {
+                balanceCents = account.getBalanceCents();
+                active = account.isActive();
+                ledgerSequence = account.ledgerSequence;
+            } finally {
+                account.lock.unlock();
+            }
+
+            byte[] id = account.getAccountId().getBytes(StandardCharsets.UTF_8);
+            if (id.length > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Account ID too long for a snapshot");
+            }
+            if (buffer.remaining() < 2 + id.length + FIXED_RECORD_BYTES) {
+                drain();
+            }
+            buffer.putShort((short) id.length).put(id);
+            buffer.putLong(balanceCents).putLong(ledgerSequence).put((byte) (active ? 1 : 0));
+            accounts++;
+        }
+
+        /**
+         * Forces the snapshot to disk and atomically replaces the target.
+         * The caller must have made the ledger durable up to every entry the
+         * copied accounts reflect.
+         */
+        void commit() throws IOException {
+            // The file ends exactly after the last record, so there is nothing to truncate
+            drain();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putLong(checkpoint.sequence()).putLong(checkpoint.offset())
+                    .putLong(accounts).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+            channel.close();
+
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            committed = true;
+            forceDirectory(target.getParent());
+        }
+
+        long accounts() {
+            return accounts;
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private record Header(Ledger.Checkpoint checkpoint, long accounts) {
+    }
+
+    private static Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Snapshot header truncated");
+            }
+        }
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("Not a version " + VERSION + " account snapshot");
+        }
+        Ledger.Checkpoint checkpoint = new Ledger.Checkpoint(header.getLong(), header.getLong());
+        return new Header(checkpoint, header.getLong());
+    }
+
+    // The rename is only durable once the directory entry is; not every platform can open a directory
+    private static void forceDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long start, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(REGION_BYTES, size - start));
+    }
+}
@@ -0,0 +1,273 @@
+package Module8discussionpost;
+
+/**
+ * CSC450 Module 8 - Deadlock-free transfers between BankAccounts
+ *
+ * A transfer locks both accounts before touching either balance, so the
+ * debit and the credit happen as one atomic step and no rollback is needed.
+ * Locks are always taken in one global order, each account's lockRank: if
+ * A -> B and B -> A run at the same time, both threads lock the lower rank
+ * first, so neither can hold one lock while waiting for the other. Ranks are
+ * unique longs rather than accountIds, so ordering a batch of accounts is
+ * cheap and duplicate ids can't tie.
+ *
+ * transferBatch applies many legs under one ordered pass over all the
+ * accounts involved, so a payroll-style burst pays for locking and logging
+ * once instead of once per leg.
+ *
+ * Accounts opened through a ledger-backed AccountRegistry share its
+ * Ledger; each transfer between them is journaled there under the locks
+ * before the balances change, and the wait for it to be durable happens
+ * after the locks are released, so an fsync never blocks other transfers on
+ * the same accounts. Both accounts of a transfer, and every leg of a batch,
+ * must belong to the same ledger (or none).
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Logger;
+
+class TransferEngine {
+    private static final Logger logger = Logger.getLogger(TransferEngine.class.getName());
+    private static final Comparator<BankAccount> LOCK_ORDER = Comparator.comparingLong(account -> account.lockRank);
+
+    /**
+     * One leg of a batch.
+     */
+    record Transfer(BankAccount from, BankAccount to, long amountCents) {
+    }
+
+    /**
+     * A leg that was rejected; index is its position in the batch.
+     */
+    record LegFailure(int index, Transfer transfer, BankingOutcome outcome) {
+    }
+
+    /**
+     * Move amountCents from one account to another atomically
+     * BEST PRACTICE: Validate everything under both locks, then update; nothing to roll back
+     * LEDGER_NOT_DURABLE means the money has moved in memory but its ledger
+     * entry may not survive a restart (see Ledger.notDurable).
+     */
+    public void transfer(BankAccount from, BankAccount to, long amountCents) throws BankingException {
+        checkAccounts(from, to);
+        BankAccount.validateAmount(amountCents);
+
+        long sequence;
+        lockPair(from, to);
+        try {
+            BankingOutcome outcome = transferLocked(from, to, amountCents);
+            if (!outcome.isOk()) {
+                // from is checked first, so an inactive from is the one to report
+                BankAccount rejecting = outcome == BankingOutcome.INACTIVE_ACCOUNT && from.statusOutcome().isOk()
+                        ? to : from;
+                throw rejecting.rejection(outcome, amountCents);
+            }
+            sequence = from.ledgerSequence;
+        } catch (IOException e) {
+            throw Ledger.writeFailed(e);
+        } finally {
+            unlockPair(from, to);
+        }
+
+        try {
+            awaitDurable(from.ledger, sequence);
+        } catch (IOException e) {
+            throw Ledger.notDurable(e);
+        }
+        logTransfer(from, to, amountCents);
+    }
+
+    /**
+     * Transfer without throwing for expected rejections. A ledger failure is
+     * not a business rejection and surfaces as UncheckedIOException.
+     */
+    public BankingOutcome tryTransfer(BankAccount from, BankAccount to, long amountCents) {
+        checkAccounts(from, to);
+        if (amountCents <= 0) {
+            return BankingOutcome.INVALID_AMOUNT;
+        }
+
+        BankingOutcome outcome;
+        long sequence;
+        lockPair(from, to);
+        try {
+            outcome = transferLocked(from, to, amountCents);
+            sequence = from.ledgerSequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            unlockPair(from, to);
+        }
+
+        if (outcome.isOk()) {
+            try {
+                awaitDurable(from.ledger, sequence);
+            } catch (IOException e) {
+                throw Ledger.notDurableUnchecked(e);
+            }
+            logTransfer(from, to, amountCents);
+        }
+        return outcome;
+    }
+
+    /**
+     * Apply every leg in order under a single lock acquisition pass
+     * BEST PRACTICE: A rejected leg (insufficient funds, inactive account) is
+     * reported and skipped; the rest of the batch still applies.
+     *
+     * Malformed legs (null account, same account, non-positive amount) are
+     * programming errors: they fail the whole batch with
+     * IllegalArgumentException before anything is locked or applied.
+     *
+     * Returns the rejected legs, empty if every leg applied.
+     * PERFORMANCE: Rejections are outcomes, not exceptions, so a settlement
+     * batch with many rejected legs builds no exceptions.
+     *
+     * A ledger failure stops the batch with UncheckedIOException, and a leg
+     * that would overflow its recipient with ArithmeticException; legs before
+     * it stay applied (and journaled). If only the final durability wait
+     * fails, every applied leg stays applied in memory.
+     */
+    public List<LegFailure> transferBatch(List<Transfer> legs) {
+        // GOOD: Validate every leg up front, before any balance changes
+        BankAccount[] accounts = new BankAccount[legs.size() * 2];
+        int count = 0;
+        for (Transfer leg : legs) {
+            if (leg == null || leg.from() == null || leg.to() == null) {
+                throw new IllegalArgumentException("Transfer legs and their accounts cannot be null");
+            }
+            if (leg.from() == leg.to()) {
+                throw new IllegalArgumentException("Cannot transfer to the same account");
+            }
+            BankAccount.validateAmount(leg.amountCents());
+            if (leg.from().ledger != leg.to().ledger || leg.from().ledger != legs.get(0).from().ledger) {
+                throw new IllegalArgumentException("Batch legs must all belong to the same ledger");
+            }
+            accounts[count++] = leg.from();
+            accounts[count++] = leg.to();
+        }
+
+        // Sort into lock order, then drop repeats of the same account (adjacent after sorting)
+        Arrays.sort(accounts, LOCK_ORDER);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || accounts[i] != accounts[distinct - 1]) {
+                accounts[distinct++] = accounts[i];
+            }
+        }
+
+        List<LegFailure> failures = new ArrayList<>();
+        long appliedCents = 0;
+        long lastSequence = 0;
+        Ledger ledger = legs.isEmpty() ? null : legs.get(0).from().ledger;
+
+        int locked = 0;
+        try {
+            for (; locked < distinct; locked++) {
+                accounts[locked].lock.lock();
+            }
+
+            for (int i = 0; i < legs.size(); i++) {
+                Transfer leg = legs.get(i);
+                BankingOutcome outcome = transferLocked(leg.from(), leg.to(), leg.amountCents());
+                if (outcome.isOk()) {
+                    appliedCents += leg.amountCents();
+                    lastSequence = leg.from().ledgerSequence;
+                } else {
+                    failures.add(new LegFailure(i, leg, outcome));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            while (locked > 0) {
+                accounts[--locked].lock.unlock();
+            }
+        }
+
+        // PERFORMANCE: One durability wait covers every leg in the batch
+        try {
+            awaitDurable(ledger, lastSequence);
+        } catch (IOException e) {
+            throw Ledger.notDurableUnchecked(e);
+        }
+
+        // PERFORMANCE: One log record for the whole batch
+        BankingLog.logBatch(logger, legs.size() - failures.size(), legs.size(), appliedCents);
+        return failures;
+    }
+
+    /**
+     * Checks and applies one transfer; the caller holds both locks. On OK
+     * the transfer is journaled (if there is a ledger) and applied. A credit
+     * that would overflow the recipient throws ArithmeticException before
+     * either balance changes.
+     */
+    private static BankingOutcome transferLocked(BankAccount from, BankAccount to, long amountCents) throws IOException {
+        BankingOutcome outcome = from.statusOutcome();
+        if (outcome.isOk()) {
+            outcome = to.statusOutcome();
+        }
+        if (outcome.isOk()) {
+            outcome = from.fundsOutcome(amountCents);
+        }
+        if (outcome.isOk()) {
+            // GOOD: Before the debit, so a credit that would overflow can't destroy the debited cents
+            to.checkCredit(amountCents);
+            journal(from, to, amountCents);
+            from.applyDebit(amountCents);
+            to.credit(amountCents);
+        }
+        return outcome;
+    }
+
+    // Caller holds both account locks
+    private static void journal(BankAccount from, BankAccount to, long amountCents) throws IOException {
+        if (from.ledger == null) {
+            return;
+        }
+        long sequence = from.ledger.append(Ledger.EntryType.TRANSFER, from.getAccountId(), to.getAccountId(),
+                amountCents);
+        from.ledgerSequence = sequence;
+        to.ledgerSequence = sequence;
+    }
+
+    private static void awaitDurable(Ledger ledger, long sequence) throws IOException {
+        if (ledger != null && sequence > 0) {
+            ledger.awaitDurable(sequence);
+        }
+    }
+
+    private static void checkAccounts(BankAccount from, BankAccount to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Accounts cannot be null");
+        }
+        if (from == to) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        if (from.ledger != to.ledger) {
+            throw new IllegalArgumentException("Accounts belong to different ledgers");
+        }
+    }
+
+    private static void lockPair(BankAccount from, BankAccount to) {
+        boolean fromFirst = from.lockRank < to.lockRank;
+        (fromFirst ? from : to).lock.lock();
+        (fromFirst ? to : from).lock.lock();
+    }
+
+    private static void unlockPair(BankAccount from, BankAccount to) {
+        from.lock.unlock();
+        to.lock.unlock();
+    }
+
+    // GOOD: Called after releasing the locks so output doesn't extend the critical section
+    private static void logTransfer(BankAccount from, BankAccount to, long amountCents) {
+        BankingLog.log(logger, BankingLog.Event.TRANSFER, from.getAccountId(), to.getAccountId(), amountCents);
+    }
+}
@@ -1,3 +1,4 @@
+package Module8discussionpost;
 
 /**
  * CSC450 Module 8 Discussion Post
@@ -11,88 +12,18 @@ import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-// ============================================================================
-// CUSTOM EXCEPTIONS - Best Practices
-// ============================================================================
-
-/**
- * Base custom exception for application-specific errors
- * BEST PRACTICE: Extends Exception for checked exceptions that must be handled
- */
-class BankingException extends Exception {
-    private final String errorCode;
-    private final long timestamp;
-
-    public BankingException(String message, String errorCode) {
-        super(message);
-        this.errorCode = errorCode;
-        this.timestamp = System.currentTimeMillis();
-    }
-
-    public BankingException(String message, String errorCode, Throwable cause) {
-        super(message, cause);
-        this.errorCode = errorCode;
-        this.timestamp = System.currentTimeMillis();
-    }
-
-    public String getErrorCode() {
-        return errorCode;
-    }
-
-    public long getTimestamp() {
-        return timestamp;
-    }
-
-    @Override
-    public String toString() {
-        return String.format("BankingException[code=%s, time=%d]: %s",
-                errorCode, timestamp, getMessage());
-    }
-}
-
-/**
- * Specific exception for insufficient funds
- * BEST PRACTICE: Create specific exception types for different error conditions
- */
-class InsufficientFundsException extends BankingException {
-    private final double requestedAmount;
-    private final double availableBalance;
-
-    public InsufficientFundsException(double requested, double available) {
-        super(String.format("Insufficient funds: requested $%.2f, available $%.2f",
-                requested, available), "INSUF_FUNDS");
-        this.requestedAmount = requested;
-        this.availableBalance = available;
-    }
-
-    public double getShortfall() {
-        return requestedAmount - availableBalance;
-    }
-}
-
-/**
- * Exception for invalid account operations
- * BEST PRACTICE: Provide meaningful context in exception messages
- */
-class InvalidAccountException extends BankingException {
-    private final String accountId;
-
-    public InvalidAccountException(String accountId, String reason) {
-        super(String.format("Invalid account %s: %s", accountId, reason), "INVALID_ACCT");
-        this.accountId = accountId;
-    }
-
-    public String getAccountId() {
-        return accountId;
-    }
-}
-
 // ============================================================================
 // POOR EXCEPTION HANDLING EXAMPLES
 // ============================================================================
@@ -259,132 +190,6 @@ class GoodExceptionHandling {
     }
 }
 
-// ============================================================================
-// COMPREHENSIVE BANKING EXAMPLE - BEST PRACTICES
-// ============================================================================
-
-class BankAccount {
-    private final String accountId;
-    private double balance;
-    private boolean active;
-    private static final Logger logger = Logger.getLogger(BankAccount.class.getName());
-
-    public BankAccount(String accountId, double initialBalance) {
-        if (accountId == null || accountId.trim().isEmpty()) {
-            throw new IllegalArgumentException("Account ID cannot be null or empty");
-        }
-        if (initialBalance < 0) {
-            throw new IllegalArgumentException("Initial balance cannot be negative");
-        }
-
-        this.accountId = accountId;
-        this.balance = initialBalance;
-        this.active = true;
-    }
-
-    /**
-     * Withdraw funds with comprehensive error handling
-     * BEST PRACTICE: Use custom exceptions for domain-specific errors
-     */
-    public void withdraw(double amount) throws BankingException {
-        // GOOD: Early validation
-        validateAccountStatus();
-        validateAmount(amount);
-
-        // GOOD: Business logic validation with custom exception
-        if (amount > balance) {
-            throw new InsufficientFundsException(amount, balance);
-        }
-
-        // Perform operation
-        balance -= amount;
-        logger.log(Level.INFO, "Withdrawal successful: ${0} from account {1}",
-                new Object[] { amount, accountId });
-    }
-
-    /**
-     * Transfer funds between accounts
-     * BEST PRACTICE: Multiple exception types for different failure modes
-     */
-    public void transferTo(BankAccount recipient, double amount) throws BankingException {
-        // GOOD: Validate all preconditions
-        if (recipient == null) {
-            throw new IllegalArgumentException("Recipient account cannot be null");
-        }
-
-        validateAccountStatus();
-        recipient.validateAccountStatus();
-        validateAmount(amount);
-
-        // GOOD: Check for sufficient funds before attempting transfer
-        if (amount > balance) {
-            throw new InsufficientFundsException(amount, balance);
-        }
-
-        try {
-            // Perform transfer
-            balance -= amount;
-            recipient.deposit(amount);
-            logger.log(Level.INFO, "Transfer successful: ${0} from {1} to {2}",
-                    new Object[] { amount, accountId, recipient.accountId });
-
-        } catch (Exception e) {
-            // GOOD: Rollback on failure
-            balance += amount;
-            logger.log(Level.SEVERE, "Transfer failed, rolled back", e);
-            throw new BankingException("Transfer failed: " + e.getMessage(),
-                    "TRANSFER_FAILED", e);
-        }
-    }
-
-    /**
-     * Deposit funds
-     * BEST PRACTICE: Simple validation without unnecessary exceptions
-     */
-    public void deposit(double amount) throws InvalidAccountException {
-        validateAccountStatus();
-
-        if (amount <= 0) {
-            // GOOD: Use standard exception for programming errors
-            throw new IllegalArgumentException("Deposit amount must be positive");
-        }
-
-        balance += amount;
-        logger.log(Level.INFO, "Deposit successful: ${0} to account {1}",
-                new Object[] { amount, accountId });
-    }
-
-    /**
-     * GOOD: Private helper methods for validation
-     */
-    private void validateAccountStatus() throws InvalidAccountException {
-        if (!active) {
-            throw new InvalidAccountException(accountId, "Account is inactive");
-        }
-    }
-
-    private void validateAmount(double amount) {
-        if (amount <= 0) {
-            throw new IllegalArgumentException("Amount must be positive");
-        }
-        if (Double.isNaN(amount) || Double.isInfinite(amount)) {
-            throw new IllegalArgumentException("Invalid amount value");
-        }
-    }
-
-    public double getBalance() {
-        return balance;
-    }
-
-    public String getAccountId() {
-        return accountId;
-    }
-
-    public void deactivate() {
-        this.active = false;
-    }
-}
-
 // ============================================================================
 // DEMONSTRATION CLASS
 // ============================================================================
@@ -407,6 +212,30 @@ public class discussionpost {
         // Demonstrate custom exceptions with banking example
         demonstrateBankingExceptions();
 
+        // Demonstrate a hot account shared by many threads
+        demonstrateConcurrentAccount();
+
+        // Demonstrate opposing transfers that would deadlock without lock ordering
+        demonstrateConcurrentTransfers();
+
+        // Demonstrate looking accounts up by id
+        demonstrateAccountRegistry();
+
+        // Demonstrate a payroll batch with rejected legs
+        demonstrateBatchTransfer();
+
+        // Demonstrate result codes instead of exceptions for expected rejections
+        demonstrateOutcomes();
+
+        // Demonstrate rebuilding balances from the write-ahead ledger
+        demonstrateLedgerRecovery();
+
+        // Demonstrate recovering from a snapshot plus the ledger tail
+        demonstrateSnapshotRecovery();
+
+        // With -Dcsc450.banking.asyncLogging=true, operation logs are written by a background thread
+        BankingLog.flush();
+
         System.out.println("\n=== Demonstration Complete ===");
     }
 
@@ -472,38 +301,38 @@ public class discussionpost {
 
         try {
             // Create accounts
-            BankAccount checking = new BankAccount("CHK-001", 1000.00);
-            BankAccount savings = new BankAccount("SAV-001", 500.00);
+            BankAccount checking = new BankAccount("CHK-001", Money.ofDollars(1000));
+            BankAccount savings = new BankAccount("SAV-001", Money.ofDollars(500));
 
             System.out.println("Initial balances:");
-            System.out.println("  Checking: $" + checking.getBalance());
-            System.out.println("  Savings: $" + savings.getBalance());
+            System.out.println("  Checking: " + Money.format(checking.getBalanceCents()));
+            System.out.println("  Savings: " + Money.format(savings.getBalanceCents()));
 
             // Successful withdrawal
             System.out.println("\n1. Attempting withdrawal of $200...");
-            checking.withdraw(200.00);
-            System.out.println("   SUCCESS: New balance: $" + checking.getBalance());
+            checking.withdraw(Money.ofDollars(200));
+            System.out.println("   SUCCESS: New balance: " + Money.format(checking.getBalanceCents()));
 
             // Successful transfer
             System.out.println("\n2. Attempting transfer of $300 to savings...");
-            checking.transferTo(savings, 300.00);
-            System.out.println("   SUCCESS: Checking: $" + checking.getBalance() +
-                    ", Savings: $" + savings.getBalance());
+            checking.transferTo(savings, Money.ofDollars(300));
+            System.out.println("   SUCCESS: Checking: " + Money.format(checking.getBalanceCents()) +
+                    ", Savings: " + Money.format(savings.getBalanceCents()));
 
             // Insufficient funds
             System.out.println("\n3. Attempting withdrawal of $1000 (insufficient funds)...");
             try {
-                checking.withdraw(1000.00);
+                checking.withdraw(Money.ofDollars(1000));
             } catch (InsufficientFundsException e) {
                 System.out.println("   CAUGHT: " + e.getMessage());
-                System.out.println("   Shortfall: $" + String.format("%.2f", e.getShortfall()));
+                System.out.println("   Shortfall: " + Money.format(e.getShortfallCents()));
             }
 
             // Invalid account operation
             System.out.println("\n4. Attempting operation on inactive account...");
             savings.deactivate();
             try {
-                savings.withdraw(50.00);
+                savings.withdraw(Money.ofDollars(50));
             } catch (InvalidAccountException e) {
                 System.out.println("   CAUGHT: " + e.getMessage());
                 System.out.println("   Account ID: " + e.getAccountId());
@@ -512,7 +341,7 @@ public class discussionpost {
             // Invalid input
             System.out.println("\n5. Attempting invalid deposit...");
             try {
-                checking.deposit(-50.00);
+                checking.deposit(-Money.ofDollars(50));
             } catch (IllegalArgumentException e) {
                 System.out.println("   CAUGHT: " + e.getMessage());
             }
@@ -525,4 +354,242 @@ public class discussionpost {
             logger.log(Level.SEVERE, "Unexpected error in demonstration", e);
         }
     }
+
+    private static void demonstrateConcurrentAccount() {
+        System.out.println("\n--- Concurrent Account (Lock-Free Balance) ---");
+
+        final int threads = 8;
+        final int operationsPerThread = 10_000;
+        ConcurrentBankAccount hot = new ConcurrentBankAccount("HOT-001", 100_000);
+
+        // Every thread deposits and withdraws the same amounts; the balance must end where it started
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        hot.deposit(25);
+                        hot.withdraw(25);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        System.out.println("   " + threads * operationsPerThread * 2 + " operations from " + threads
+                + " threads, final balance: " + hot.getBalanceCents() + " cents (expected 100000)");
+    }
+
+    private static void demonstrateConcurrentTransfers() {
+        System.out.println("\n--- Concurrent Transfers (Ordered Locking) ---");
+
+        final int threads = 8;
+        final int transfersPerThread = 5_000;
+        BankAccount[] accounts = {
+                new BankAccount("ACC-A", Money.ofDollars(10_000)), new BankAccount("ACC-B", Money.ofDollars(10_000)),
+                new BankAccount("ACC-C", Money.ofDollars(10_000)), new BankAccount("ACC-D", Money.ofDollars(10_000)) };
+        TransferEngine engine = new TransferEngine();
+
+        // Thousands of per-transfer INFO lines would drown the output
+        Logger transferLogger = Logger.getLogger(TransferEngine.class.getName());
+        Level previous = transferLogger.getLevel();
+        transferLogger.setLevel(Level.WARNING);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < transfersPerThread; i++) {
+                        int from = random.nextInt(accounts.length);
+                        int to = (from + 1 + random.nextInt(accounts.length - 1)) % accounts.length;
+                        try {
+                            engine.transfer(accounts[from], accounts[to], Money.ofDollars(1));
+                        } catch (InsufficientFundsException e) {
+                            // Expected occasionally; the transfer simply doesn't happen
+                        }
+                    }
+                    return null;
+                });
+            }
+        } finally {
+            transferLogger.setLevel(previous);
+        }
+
+        long totalCents = 0;
+        for (BankAccount account : accounts) {
+            totalCents += account.getBalanceCents();
+        }
+        System.out.println("   " + threads * transfersPerThread + " transfers in both directions completed,"
+                + " total balance: " + Money.format(totalCents) + " (expected $40000.00)");
+    }
+
+    private static void demonstrateAccountRegistry() {
+        System.out.println("\n--- Account Registry (Lookup by ID) ---");
+
+        final int accounts = 100_000;
+        AccountRegistry registry = new AccountRegistry(accounts);
+
+        try {
+            for (int i = 0; i < accounts; i++) {
+                registry.open(String.format("ACC-%07d", i), Money.ofDollars(100));
+            }
+            System.out.println("1. Opened " + registry.size() + " accounts");
+
+            registry.transfer("ACC-0000001", "ACC-0099999", Money.ofDollars(40));
+            System.out.println("2. Transfer by ID: ACC-0000001 now has "
+                    + Money.format(registry.get("ACC-0000001").getBalanceCents()));
+
+            registry.deactivate("ACC-0099999");
+            try {
+                registry.transfer("ACC-0000001", "ACC-0099999", Money.ofDollars(10));
+            } catch (InvalidAccountException e) {
+                System.out.println("3. CAUGHT: " + e.getMessage());
+            }
+
+            try {
+                registry.get("ACC-9999999");
+            } catch (InvalidAccountException e) {
+                System.out.println("4. CAUGHT: " + e.getMessage());
+            }
+        } catch (BankingException e) {
+            System.err.println("Banking error: " + e);
+        }
+    }
+
+    private static void demonstrateBatchTransfer() {
+        System.out.println("\n--- Batch Transfer (Payroll) ---");
+
+        BankAccount employer = new BankAccount("EMP-001", Money.ofDollars(10_000));
+        BankAccount alice = new BankAccount("PAY-001", 0);
+        BankAccount bob = new BankAccount("PAY-002", 0);
+        BankAccount carol = new BankAccount("PAY-003", 0);
+        carol.deactivate();
+
+        List<TransferEngine.Transfer> payroll = List.of(
+                new TransferEngine.Transfer(employer, alice, Money.ofDollars(3_000)),
+                new TransferEngine.Transfer(employer, bob, Money.ofDollars(3_500)),
+                new TransferEngine.Transfer(employer, carol, Money.ofDollars(2_000)),
+                new TransferEngine.Transfer(employer, bob, Money.ofDollars(4_000)));
+
+        List<TransferEngine.LegFailure> failures = new TransferEngine().transferBatch(payroll);
+
+        for (TransferEngine.LegFailure failure : failures) {
+            TransferEngine.Transfer leg = failure.transfer();
+            System.out.println("   Leg " + failure.index() + " rejected: " + failure.outcome() + " ("
+                    + leg.from().getAccountId() + " -> " + leg.to().getAccountId() + ", "
+                    + Money.format(leg.amountCents()) + ")");
+        }
+        System.out.println("   Employer: " + Money.format(employer.getBalanceCents())
+                + ", PAY-001: " + Money.format(alice.getBalanceCents())
+                + ", PAY-002: " + Money.format(bob.getBalanceCents()));
+    }
+
+    private static void demonstrateOutcomes() {
+        System.out.println("\n--- Non-Throwing API (Result Codes) ---");
+
+        BankAccount checking = new BankAccount("OUT-001", Money.ofDollars(100));
+        BankAccount closed = new BankAccount("OUT-002", 0);
+        closed.deactivate();
+
+        // GOOD: Expected rejections are plain return values; no exception is built
+        System.out.println("1. tryWithdraw $500.00: " + checking.tryWithdraw(Money.ofDollars(500)));
+        System.out.println("2. tryWithdraw $0.00: " + checking.tryWithdraw(0));
+        System.out.println("3. tryTransferTo closed account: " + checking.tryTransferTo(closed, Money.ofDollars(10)));
+        System.out.println("4. tryWithdraw $40.00: " + checking.tryWithdraw(Money.ofDollars(40))
+                + ", balance now " + Money.format(checking.getBalanceCents()));
+    }
+
+    private static void demonstrateLedgerRecovery() {
+        System.out.println("\n--- Write-Ahead Ledger (Recovery After Restart) ---");
+
+        Path file = null;
+        try {
+            file = Files.createTempFile("csc450-ledger", ".log");
+
+            try (AccountRegistry registry = AccountRegistry.recover(file, 16, Ledger.SyncPolicy.everyOp())) {
+                registry.open("LED-001", Money.ofDollars(500));
+                registry.open("LED-002", 0);
+                registry.deposit("LED-001", Money.of(25, 50));
+                registry.transfer("LED-001", "LED-002", Money.ofDollars(200));
+                registry.withdraw("LED-002", Money.ofDollars(75));
+                registry.deactivate("LED-002");
+                // GOOD: Accounts handed out by the registry journal their own changes too
+                registry.get("LED-001").withdraw(Money.ofDollars(100));
+                System.out.println("1. Journaled 7 operations (" + Files.size(file) + " bytes); tryWithdraw"
+                        + " from LED-404: " + registry.tryWithdraw("LED-404", Money.ofDollars(1)));
+            }
+
+            // Simulate a crash halfway through writing the next entry
+            Files.write(file, new byte[] { 0, 0, 0, 40, 1, 2 }, StandardOpenOption.APPEND);
+
+            try (AccountRegistry recovered = AccountRegistry.recover(file, 16, Ledger.SyncPolicy.everyOp())) {
+                System.out.println("2. Recovered " + recovered.size() + " accounts: LED-001 "
+                        + Money.format(recovered.get("LED-001").getBalanceCents()) + ", LED-002 "
+                        + Money.format(recovered.get("LED-002").getBalanceCents()));
+                try {
+                    recovered.deposit("LED-002", Money.ofDollars(10));
+                } catch (InvalidAccountException e) {
+                    System.out.println("3. CAUGHT: " + e.getMessage());
+                }
+            }
+        } catch (IOException | BankingException e) {
+            System.err.println("Ledger error: " + e);
+        } finally {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "Could not delete temporary ledger", e);
+                }
+            }
+        }
+    }
+
+    private static void demonstrateSnapshotRecovery() {
+        System.out.println("\n--- Snapshot + Ledger Tail (Fast Recovery) ---");
+
+        final int accounts = 100_000;
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("csc450-snapshot");
+            Path ledgerFile = dir.resolve("ledger.log");
+            Path snapshotFile = dir.resolve("accounts.snap");
+
+            try (AccountRegistry registry = AccountRegistry.recover(ledgerFile, snapshotFile, accounts,
+                    Ledger.SyncPolicy.everyOps(10_000))) {
+                for (int i = 0; i < accounts; i++) {
+                    registry.open(String.format("SNP-%07d", i), Money.ofDollars(100));
+                }
+                Ledger.Checkpoint checkpoint = registry.snapshot(snapshotFile);
+                System.out.println("1. Snapshot of " + registry.size() + " accounts at ledger entry "
+                        + checkpoint.sequence() + " (" + Files.size(snapshotFile) + " bytes)");
+
+                // Tail: changes after the snapshot, only in the ledger
+                registry.transfer("SNP-0000000", "SNP-0000001", Money.ofDollars(60));
+                registry.deactivate("SNP-0000002");
+            }
+
+            long start = System.nanoTime();
+            try (AccountRegistry recovered = AccountRegistry.recover(ledgerFile, snapshotFile, accounts,
+                    Ledger.SyncPolicy.everyOps(10_000))) {
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                System.out.println("2. Recovered " + recovered.size() + " accounts in " + millis + " ms: SNP-0000000 "
+                        + Money.format(recovered.get("SNP-0000000").getBalanceCents()) + ", SNP-0000001 "
+                        + Money.format(recovered.get("SNP-0000001").getBalanceCents()) + ", SNP-0000002 active: "
+                        + recovered.get("SNP-0000002").isActive());
+            }
+        } catch (IOException | BankingException e) {
+            System.err.println("Snapshot error: " + e);
+        } finally {
+            if (dir != null) {
+                try (var files = Files.list(dir)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        Files.delete(file);
+                    }
+                    Files.delete(dir);
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "Could not delete temporary snapshot directory", e);
+                }
+            }
+        }
+    }
 }
@@ -179,7 +179,7 @@ public class ConcurrencyCounters {
      * @param state AtomicInteger to track progress (for monitoring)
      * @return Runnable task for counting up
      */
-    private static Runnable createCountUpTask(CountDownLatch gate, AtomicInteger state) {
+    static Runnable createCountUpTask(CountDownLatch gate, AtomicInteger state) {
         return () -> {
             String threadName = Thread.currentThread().getName();
             logger.info("[" + threadName + "] Starting count up task");
@@ -238,7 +238,7 @@ public class ConcurrencyCounters {
      * @param gate CountDownLatch to wait on before starting
      * @return Runnable task for counting down
      */
-    private static Runnable createCountDownTask(CountDownLatch gate) {
+    static Runnable createCountDownTask(CountDownLatch gate) {
         return () -> {
             String threadName = Thread.currentThread().getName();
             logger.info("[" + threadName + "] Count down task waiting on gate...");
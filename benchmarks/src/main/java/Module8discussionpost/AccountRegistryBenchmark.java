@@ -0,0 +1,67 @@
+package Module8discussionpost;
+
+/**
+ * JMH benchmark for AccountRegistry lookups and transfers by id.
+ *
+ * Four threads pick random ids from a registry of one million accounts.
+ * Ids are built during setup so the benchmark doesn't measure String.format.
+ * Transfer logging is switched off.
+ */
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(4)
+public class AccountRegistryBenchmark {
+
+    @Param({ "1000000" })
+    int accounts;
+
+    private String[] ids;
+    private AccountRegistry registry;
+
+    @Setup
+    public void setUp() throws BankingException {
+        Logger.getLogger(TransferEngine.class.getName()).setLevel(Level.OFF);
+        ids = new String[accounts];
+        registry = new AccountRegistry(accounts);
+        for (int i = 0; i < accounts; i++) {
+            ids[i] = String.format("ACC-%010d", i);
+            registry.open(ids[i], Money.ofDollars(1_000_000));
+        }
+    }
+
+    @Benchmark
+    public BankAccount lookup() throws InvalidAccountException {
+        return registry.get(ids[ThreadLocalRandom.current().nextInt(accounts)]);
+    }
+
+    @Benchmark
+    public void transferById() throws BankingException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accounts);
+        int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+        registry.transfer(ids[from], ids[to], Money.ofDollars(1));
+    }
+}
@@ -0,0 +1,40 @@
+package Module8discussionpost;
+
+/**
+ * Measures the heap cost per account of an AccountRegistry.
+ *
+ * Not a JMH benchmark: it fills a registry once and compares used heap
+ * after full GCs, before and after. Run from the shaded jar:
+ *
+ *   java -cp target/benchmarks.jar Module8discussionpost.AccountRegistryFootprint [accounts]
+ *
+ * Give the JVM enough heap for the account count (-Xmx).
+ */
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+public class AccountRegistryFootprint {
+
+    public static void main(String[] args) throws BankingException {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        long before = usedHeapAfterGc(memory);
+        AccountRegistry registry = new AccountRegistry(accounts);
+        for (int i = 0; i < accounts; i++) {
+            registry.open(String.format("ACC-%010d", i), Money.ofDollars(100));
+        }
+        long after = usedHeapAfterGc(memory);
+
+        System.out.printf("%,d accounts: %,d bytes total, %.1f bytes per account%n",
+                registry.size(), after - before, (after - before) / (double) accounts);
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
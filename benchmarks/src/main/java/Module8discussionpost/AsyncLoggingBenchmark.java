@@ -0,0 +1,117 @@
+package Module8discussionpost;
+
+/**
+ * JMH benchmark for the cost of transfer logging on the calling thread.
+ *
+ * Four threads transfer one cent between random pairs of 1024 accounts, as
+ * in TransferEngineBenchmark, with TransferEngine logging at OFF or INFO.
+ * Records go to a handler that formats them like the console does and then
+ * discards the text, so the cost is building and formatting records, not
+ * terminal output. Methods ending in "Async" fork with
+ * -Dcsc450.banking.asyncLogging=true; the records dropped because the ring
+ * was full are printed at the end of the trial.
+ */
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class AsyncLoggingBenchmark {
+
+    private static final int ACCOUNTS = 1024;
+
+    @Param({ "OFF", "INFO" })
+    String logging;
+
+    private BankAccount[] pool;
+    private TransferEngine engine;
+
+    @Setup
+    public void setUp() {
+        Logger transferLogger = Logger.getLogger(TransferEngine.class.getName());
+        transferLogger.setLevel(Level.parse(logging));
+        transferLogger.setUseParentHandlers(false);
+        for (Handler handler : transferLogger.getHandlers()) {
+            transferLogger.removeHandler(handler);
+        }
+        transferLogger.addHandler(new FormattingHandler());
+
+        pool = new BankAccount[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            pool[i] = new BankAccount(String.format("ACC-%05d", i), Money.ofDollars(1_000_000_000));
+        }
+        engine = new TransferEngine();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BankingLog.flush();
+        if (BankingLog.ASYNC) {
+            System.out.println("Log records dropped: " + BankingLog.droppedRecords());
+        }
+    }
+
+    @Benchmark
+    public void transfer() throws BankingException {
+        randomTransfer();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dcsc450.banking.asyncLogging=true")
+    public void transferAsync() throws BankingException {
+        randomTransfer();
+    }
+
+    private void randomTransfer() throws BankingException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(ACCOUNTS);
+        int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+        engine.transfer(pool[from], pool[to], 1);
+    }
+
+    // Formats every record like ConsoleHandler, then throws the text away
+    private static final class FormattingHandler extends Handler {
+        private final SimpleFormatter formatter = new SimpleFormatter();
+        private volatile int sink;
+
+        @Override
+        public synchronized void publish(LogRecord record) {
+            if (isLoggable(record)) {
+                sink += formatter.format(record).length();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
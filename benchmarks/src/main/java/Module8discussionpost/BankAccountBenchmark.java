@@ -0,0 +1,51 @@
+package Module8discussionpost;
+
+/**
+ * JMH benchmark for BankAccount.transferTo.
+ *
+ * Each operation moves money from one account to the other and back, so
+ * balances stay constant across iterations. BankAccount logging is switched
+ * off so the numbers measure the transfer path, not console output.
+ */
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BankAccountBenchmark {
+
+    private BankAccount checking;
+    private BankAccount savings;
+
+    @Setup
+    public void setUp() {
+        Logger.getLogger(BankAccount.class.getName()).setLevel(Level.OFF);
+        Logger.getLogger(TransferEngine.class.getName()).setLevel(Level.OFF);
+        checking = new BankAccount("CHK-001", Money.ofDollars(1_000));
+        savings = new BankAccount("SAV-001", Money.ofDollars(1_000));
+    }
+
+    @Benchmark
+    public long transferRoundTrip() throws BankingException {
+        checking.transferTo(savings, Money.ofDollars(25));
+        savings.transferTo(checking, Money.ofDollars(25));
+        return checking.getBalanceCents();
+    }
+}
@@ -0,0 +1,94 @@
+package Module8discussionpost;
+
+/**
+ * JMH benchmark for TransferEngine.transferBatch against the same legs as
+ * individual transfers.
+ *
+ * A payroll run: one employer pays batchSize employees one cent each.
+ * Individual transfers lock two accounts and log per leg; the batch locks
+ * every account once and logs once. With logging OFF the difference is
+ * locking and per-call overhead only; with INFO, records go to a handler
+ * that discards them, so the cost is building records, not console output.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchTransferBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    int batchSize;
+
+    @Param({ "OFF", "INFO" })
+    String logging;
+
+    private TransferEngine engine;
+    private List<TransferEngine.Transfer> payroll;
+
+    @Setup
+    public void setUp() {
+        Logger transferLogger = Logger.getLogger(TransferEngine.class.getName());
+        transferLogger.setLevel(Level.parse(logging));
+        transferLogger.setUseParentHandlers(false);
+        for (Handler handler : transferLogger.getHandlers()) {
+            transferLogger.removeHandler(handler);
+        }
+        transferLogger.addHandler(new DiscardingHandler());
+        engine = new TransferEngine();
+        BankAccount employer = new BankAccount("EMP-001", Money.ofDollars(1_000_000_000));
+        payroll = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            BankAccount employee = new BankAccount(String.format("PAY-%05d", i), 0);
+            payroll.add(new TransferEngine.Transfer(employer, employee, 1));
+        }
+    }
+
+    @Benchmark
+    public void individualTransfers() throws BankingException {
+        for (TransferEngine.Transfer leg : payroll) {
+            engine.transfer(leg.from(), leg.to(), leg.amountCents());
+        }
+    }
+
+    @Benchmark
+    public List<TransferEngine.LegFailure> batch() {
+        return engine.transferBatch(payroll);
+    }
+
+    private static final class DiscardingHandler extends Handler {
+        @Override
+        public void publish(LogRecord record) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
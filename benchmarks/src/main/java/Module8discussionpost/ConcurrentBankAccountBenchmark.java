@@ -0,0 +1,104 @@
+package Module8discussionpost;
+
+/**
+ * JMH benchmark for ConcurrentBankAccount under contention.
+ *
+ * Every thread deposits into and withdraws from one shared hot account, so
+ * the balance is constant and each operation contends on the same cache
+ * line. A synchronized account with the same checks is the lock-based
+ * baseline. Compare the single-thread and 4-thread scores of each.
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentBankAccountBenchmark {
+
+    private static final long INITIAL_CENTS = 1_000_000_00L;
+
+    private ConcurrentBankAccount lockFree;
+    private SynchronizedAccount locked;
+
+    @Setup
+    public void setUp() {
+        lockFree = new ConcurrentBankAccount("HOT-001", INITIAL_CENTS);
+        locked = new SynchronizedAccount(INITIAL_CENTS);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long lockFreeSingleThread() throws BankingException {
+        return depositWithdraw();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long lockFreeHotAccount() throws BankingException {
+        return depositWithdraw();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long synchronizedSingleThread() throws BankingException {
+        return depositWithdrawLocked();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long synchronizedHotAccount() throws BankingException {
+        return depositWithdrawLocked();
+    }
+
+    private long depositWithdraw() throws BankingException {
+        lockFree.deposit(25);
+        lockFree.withdraw(25);
+        return lockFree.getBalanceCents();
+    }
+
+    private long depositWithdrawLocked() throws BankingException {
+        locked.deposit(25);
+        locked.withdraw(25);
+        return locked.getBalanceCents();
+    }
+
+    // Same checks as ConcurrentBankAccount, serialized on the account monitor
+    private static final class SynchronizedAccount {
+        private long balanceCents;
+
+        SynchronizedAccount(long balanceCents) {
+            this.balanceCents = balanceCents;
+        }
+
+        synchronized void withdraw(long amountCents) throws InsufficientFundsException {
+            if (amountCents > balanceCents) {
+                throw new InsufficientFundsException(amountCents, balanceCents);
+            }
+            balanceCents -= amountCents;
+        }
+
+        synchronized void deposit(long amountCents) {
+            balanceCents += amountCents;
+        }
+
+        synchronized long getBalanceCents() {
+            return balanceCents;
+        }
+    }
+}
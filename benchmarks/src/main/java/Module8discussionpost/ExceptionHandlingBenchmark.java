@@ -0,0 +1,84 @@
+package Module8discussionpost;
+
+/**
+ * JMH benchmarks for the poor vs good exception-handling examples.
+ *
+ * Replaces the one-shot System.nanoTime() timings in
+ * discussionpost.demonstratePoorPractices / demonstrateGoodPractices with
+ * warmed-up, repeated measurements.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionHandlingBenchmark {
+
+    @Param({ "1000" })
+    int size;
+
+    // Share of negative numbers - each one is a thrown exception in the bad version
+    @Param({ "0.0", "0.1", "0.5" })
+    double negativeRatio;
+
+    private int[] numbers;
+    private List<String> items;
+    private String missing;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(11L);
+        numbers = new int[size];
+        for (int i = 0; i < size; i++) {
+            int value = 1 + random.nextInt(1_000);
+            numbers[i] = random.nextDouble() < negativeRatio ? -value : value;
+        }
+
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add("item-" + i);
+        }
+        missing = "not-present";
+    }
+
+    @Benchmark
+    public int sumPositiveNumbersBad() {
+        return PoorExceptionHandling.sumPositiveNumbersBad(numbers);
+    }
+
+    @Benchmark
+    public int sumPositiveNumbersGood() {
+        return GoodExceptionHandling.sumPositiveNumbersGood(numbers);
+    }
+
+    // Miss forces the bad version to run off the end and catch IndexOutOfBoundsException
+    @Benchmark
+    public int findIndexBad() {
+        return PoorExceptionHandling.findIndexBad(items, missing);
+    }
+
+    @Benchmark
+    public int findIndexGood() {
+        return GoodExceptionHandling.findIndexGood(items, missing);
+    }
+}
@@ -0,0 +1,77 @@
+package Module8discussionpost;
+
+/**
+ * JMH benchmark for sustained journaled operations under each Ledger sync
+ * policy.
+ *
+ * Four threads deposit by id into random accounts of a registry backed by a
+ * ledger in a temporary file. "op" forces every deposit to disk before it
+ * returns (with group commit across the threads), "1000ops" forces once per
+ * thousand entries and "10ms" forces from a background thread. Scores are
+ * operations per second; they depend heavily on the disk's fsync latency.
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class LedgerBenchmark {
+
+    private static final int ACCOUNTS = 1024;
+
+    @Param({ "op", "1000ops", "10ms" })
+    String policy;
+
+    private Path file;
+    private AccountRegistry registry;
+    private String[] ids;
+
+    @Setup
+    public void setUp() throws IOException, BankingException {
+        // Deposits log at INFO; measure the ledger, not the console
+        Logger.getLogger(BankAccount.class.getName()).setLevel(Level.OFF);
+        file = Files.createTempFile("ledger-bench", ".log");
+        registry = AccountRegistry.recover(file, ACCOUNTS, Ledger.SyncPolicy.parse(policy));
+        ids = new String[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            ids[i] = String.format("ACC-%05d", i);
+            registry.open(ids[i], 0);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        registry.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void journaledDeposit() throws BankingException {
+        registry.deposit(ids[ThreadLocalRandom.current().nextInt(ACCOUNTS)], 1);
+    }
+}
@@ -0,0 +1,127 @@
+package Module8discussionpost;
+
+/**
+ * JMH benchmark for the cost of a rejected banking operation.
+ *
+ * Each call is an expected business rejection: a withdrawal larger than the
+ * balance, or a deposit into an inactive account. The caller reads only the
+ * error code, as a fraud filter or retry loop would. Methods ending in
+ * "Stackless" fork with -Dcsc450.banking.stacklessRejections=true. The
+ * eager baseline rebuilds the old exception, formatted message and stack
+ * trace included, from the same check. Methods ending in "Outcome" use the
+ * non-throwing tryWithdraw / tryDeposit API instead.
+ */
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectionCostBenchmark {
+
+    private static final String STACKLESS = "-Dcsc450.banking.stacklessRejections=true";
+    private static final long OVERDRAFT_CENTS = Money.ofDollars(500);
+
+    private BankAccount funded;
+    private BankAccount inactive;
+
+    @Setup
+    public void setUp() {
+        Logger.getLogger(BankAccount.class.getName()).setLevel(Level.OFF);
+        funded = new BankAccount("ACC-001", Money.ofDollars(100));
+        inactive = new BankAccount("ACC-002", Money.ofDollars(100));
+        inactive.deactivate();
+    }
+
+    @Benchmark
+    public String eagerInsufficientFunds() {
+        try {
+            funded.lock.lock();
+            try {
+                long balance = funded.getBalanceCents();
+                if (OVERDRAFT_CENTS > balance) {
+                    throw new EagerInsufficientFundsException(OVERDRAFT_CENTS, balance);
+                }
+            } finally {
+                funded.lock.unlock();
+            }
+            return null;
+        } catch (BankingException e) {
+            return e.getErrorCode();
+        }
+    }
+
+    @Benchmark
+    public String insufficientFunds() {
+        return rejectedWithdrawal();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = STACKLESS)
+    public String insufficientFundsStackless() {
+        return rejectedWithdrawal();
+    }
+
+    @Benchmark
+    public String inactiveAccount() {
+        return rejectedDeposit();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = STACKLESS)
+    public String inactiveAccountStackless() {
+        return rejectedDeposit();
+    }
+
+    @Benchmark
+    public BankingOutcome insufficientFundsOutcome() {
+        return funded.tryWithdraw(OVERDRAFT_CENTS);
+    }
+
+    @Benchmark
+    public BankingOutcome inactiveAccountOutcome() {
+        return inactive.tryDeposit(Money.ofDollars(1));
+    }
+
+    private String rejectedWithdrawal() {
+        try {
+            funded.withdraw(OVERDRAFT_CENTS);
+            return null;
+        } catch (BankingException e) {
+            return e.getErrorCode();
+        }
+    }
+
+    private String rejectedDeposit() {
+        try {
+            inactive.deposit(Money.ofDollars(1));
+            return null;
+        } catch (BankingException e) {
+            return e.getErrorCode();
+        }
+    }
+
+    // The exception as it was before lazy messages: formatted eagerly, full stack trace
+    private static final class EagerInsufficientFundsException extends BankingException {
+        EagerInsufficientFundsException(long requestedCents, long availableCents) {
+            super(String.format("Insufficient funds: requested %s, available %s",
+                    Money.format(requestedCents), Money.format(availableCents)), "INSUF_FUNDS");
+        }
+    }
+}
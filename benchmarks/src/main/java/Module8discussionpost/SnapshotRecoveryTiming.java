@@ -0,0 +1,86 @@
+package Module8discussionpost;
+
+/**
+ * Measures cold-start time of AccountRegistry.recover from a snapshot plus
+ * ledger tail, against replaying the whole ledger.
+ *
+ * Not a JMH benchmark: recovery is a one-off, multi-second operation. It
+ * opens the accounts, snapshots them, journals a tail of transfers, then
+ * recovers twice in the same JVM, once per strategy. Run from the shaded
+ * jar:
+ *
+ *   java -Xmx3g -cp target/benchmarks.jar Module8discussionpost.SnapshotRecoveryTiming [accounts [tail]]
+ *
+ * Give the JVM enough heap for one registry of the account count (-Xmx).
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class SnapshotRecoveryTiming {
+
+    public static void main(String[] args) throws IOException, BankingException {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int tail = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        Logger.getLogger(TransferEngine.class.getName()).setLevel(Level.OFF);
+
+        Path dir = Files.createTempDirectory("snapshot-timing");
+        Path ledgerFile = dir.resolve("ledger.log");
+        Path snapshotFile = dir.resolve("accounts.snap");
+        Ledger.SyncPolicy policy = Ledger.SyncPolicy.everyOps(100_000);
+        try {
+            populate(ledgerFile, snapshotFile, policy, accounts, tail);
+            System.out.printf("Ledger: %,d bytes, %,d entries after the snapshot%n", Files.size(ledgerFile), tail);
+
+            time("Snapshot + ledger tail", () -> AccountRegistry.recover(ledgerFile, snapshotFile, accounts, policy));
+            time("Full ledger replay", () -> AccountRegistry.recover(ledgerFile, accounts, policy));
+        } finally {
+            Files.deleteIfExists(snapshotFile);
+            Files.deleteIfExists(ledgerFile);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    // A method of its own, so the registry is unreachable once it returns
+    private static void populate(Path ledgerFile, Path snapshotFile, Ledger.SyncPolicy policy, int accounts, int tail)
+            throws IOException, BankingException {
+        try (AccountRegistry registry = AccountRegistry.recover(ledgerFile, accounts, policy)) {
+            for (int i = 0; i < accounts; i++) {
+                registry.open(id(i), Money.ofDollars(100));
+            }
+            long start = System.nanoTime();
+            registry.snapshot(snapshotFile);
+            System.out.printf("Snapshot of %,d accounts: %,d bytes in %d ms%n",
+                    accounts, Files.size(snapshotFile), (System.nanoTime() - start) / 1_000_000);
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < tail; i++) {
+                int from = random.nextInt(accounts);
+                int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+                registry.transfer(id(from), id(to), 1);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Recovery {
+        AccountRegistry run() throws IOException;
+    }
+
+    private static void time(String label, Recovery recovery) throws IOException {
+        System.gc();
+        long start = System.nanoTime();
+        try (AccountRegistry registry = recovery.run()) {
+            System.out.printf("%s: %,d accounts in %d ms%n",
+                    label, registry.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static String id(int index) {
+        return String.format("ACC-%010d", index);
+    }
+}
@@ -0,0 +1,62 @@
+package Module8discussionpost;
+
+/**
+ * JMH benchmark for TransferEngine across contention levels.
+ *
+ * Four threads move one dollar between random pairs drawn from a pool of
+ * accounts. With 2 accounts every transfer contends for the same two locks;
+ * with 1024 almost none do. Balances start high enough that no transfer is
+ * rejected during a run. Transfer logging is switched off.
+ */
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TransferEngineBenchmark {
+
+    @Param({ "2", "16", "1024" })
+    int accounts;
+
+    private BankAccount[] pool;
+    private TransferEngine engine;
+
+    @Setup
+    public void setUp() {
+        Logger.getLogger(TransferEngine.class.getName()).setLevel(Level.OFF);
+        pool = new BankAccount[accounts];
+        for (int i = 0; i < accounts; i++) {
+            pool[i] = new BankAccount(String.format("ACC-%05d", i), Money.ofDollars(1_000_000_000));
+        }
+        engine = new TransferEngine();
+    }
+
+    @Benchmark
+    public void randomTransfer() throws BankingException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accounts);
+        int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+        engine.transfer(pool[from], pool[to], Money.ofDollars(1));
+    }
+}
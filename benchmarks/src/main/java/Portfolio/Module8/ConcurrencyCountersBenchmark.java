@@ -0,0 +1,63 @@
+package Portfolio.Module8;
+
+/**
+ * JMH benchmark for the ConcurrencyCounters count-up / count-down tasks.
+ *
+ * Runs both tasks back to back on the benchmark thread with a fresh latch,
+ * so it measures the task bodies (StringBuilder counting, latch signalling,
+ * output) without executor start-up. Task output goes to a discarding
+ * stream and logging is switched off.
+ */
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrencyCountersBenchmark {
+
+    private PrintStream originalOut;
+
+    @Setup
+    public void setUp() {
+        Logger.getLogger(ConcurrencyCounters.class.getName()).setLevel(Level.OFF);
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public int countUpThenDown() {
+        CountDownLatch gate = new CountDownLatch(1);
+        AtomicInteger state = new AtomicInteger();
+
+        ConcurrencyCounters.createCountUpTask(gate, state).run();
+        ConcurrencyCounters.createCountDownTask(gate).run();
+        return state.get();
+    }
+}
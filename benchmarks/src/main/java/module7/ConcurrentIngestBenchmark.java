@@ -0,0 +1,89 @@
+package module7;
+
+/**
+ * JMH benchmark for multi-producer ingestion.
+ *
+ * The corpus is split into one in-memory source per producer and counted by
+ * ConcurrentWordCounter (ConcurrentHashMap + LongAdder). The baseline is the
+ * single-threaded tokenizer feeding a plain HashMap over the same lines.
+ * The vocabulary is small, so producers contend on the same hot words.
+ */
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import module7.discussionpost.GoodScopeExample.ProcessingResult;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentIngestBenchmark {
+
+    @Param({ "100000" })
+    int lines;
+
+    @Param({ "1", "2", "4", "8" })
+    int producers;
+
+    private List<String> input;
+    private List<String> sourceTexts;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = WordCountBenchmark.generateLines(lines, 42L);
+
+        // One source per producer, so every producer has work from the start
+        sourceTexts = new ArrayList<>(producers);
+        int perSource = (input.size() + producers - 1) / producers;
+        for (int from = 0; from < input.size(); from += perSource) {
+            sourceTexts.add(String.join("\n", input.subList(from, Math.min(from + perSource, input.size()))));
+        }
+
+        // GOOD: Fail fast if the concurrent counts drift from the single-threaded path
+        if (!singleThreadedHashMap().equals(concurrentCounter().wordCount())) {
+            throw new IllegalStateException("Concurrent counts differ from the single-threaded baseline");
+        }
+    }
+
+    @Benchmark
+    public Map<String, Integer> singleThreadedHashMap() {
+        Map<String, Integer> wordCount = new HashMap<>();
+        WordTokenizer tokenizer = new WordTokenizer();
+        WordTokenizer.TokenSink sink = (token, length) -> wordCount.merge(
+                new String(token, 0, length), 1, Integer::sum);
+        for (String entry : input) {
+            tokenizer.tokenize(entry, sink);
+        }
+        return wordCount;
+    }
+
+    @Benchmark
+    public ProcessingResult concurrentCounter() throws IOException {
+        List<ConcurrentWordCounter.LineSource> sources = new ArrayList<>(sourceTexts.size());
+        for (String text : sourceTexts) {
+            sources.add(ConcurrentWordCounter.LineSource.of(new StringReader(text)));
+        }
+        return new ConcurrentWordCounter().ingest(sources, producers);
+    }
+}
@@ -0,0 +1,88 @@
+package module7;
+
+/**
+ * JMH benchmarks for SnapshottingWordCounter.
+ *
+ * Compares ingest throughput of a plain WordCountStage, the snapshotting
+ * counter on its own, and the snapshotting counter while a second thread
+ * keeps querying top-K. If readers blocked the hot path, the ingest score
+ * in the "withReader" group would drop well below "alone".
+ *
+ * Filtered words are only counted so the long-running counters stay small.
+ */
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    private static final int LINES = 10_000;
+
+    private List<String> input;
+    private int next;
+    private WordCountStage plain;
+    private SnapshottingWordCounter counter;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        input = WordCountBenchmark.generateLines(LINES, 42L);
+        next = 0;
+        plain = new WordCountStage(FilteredWords.create(FilteredWords.Mode.COUNT));
+        counter = new SnapshottingWordCounter(
+                () -> new WordCountStage(FilteredWords.create(FilteredWords.Mode.COUNT)),
+                SnapshottingWordCounter.DEFAULT_HANDOFF_INTERVAL);
+    }
+
+    private String nextLine() {
+        String line = input.get(next);
+        next = next + 1 == LINES ? 0 : next + 1;
+        return line;
+    }
+
+    @Benchmark
+    @Group("plainStage")
+    public void plainIngest() {
+        plain.acceptEntry(nextLine());
+    }
+
+    @Benchmark
+    @Group("alone")
+    public void ingest() {
+        counter.acceptEntry(nextLine());
+    }
+
+    @Benchmark
+    @Group("withReader")
+    @GroupThreads(1)
+    public void ingestWhileReading() {
+        counter.acceptEntry(nextLine());
+    }
+
+    @Benchmark
+    @Group("withReader")
+    @GroupThreads(1)
+    public List<Map.Entry<String, Integer>> readTopWords() {
+        return counter.topWords(5);
+    }
+}
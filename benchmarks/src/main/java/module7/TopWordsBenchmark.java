@@ -0,0 +1,64 @@
+package module7;
+
+/**
+ * JMH benchmarks for top-K reporting: the bounded heap in TopWords against
+ * the original full sort of the word-count entry set.
+ */
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopWordsBenchmark {
+
+    @Param({ "1000000" })
+    int uniqueWords;
+
+    @Param({ "5", "100" })
+    int k;
+
+    private WordCountMap wordCounts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7L);
+        wordCounts = new WordCountMap(uniqueWords);
+        for (int i = 0; i < uniqueWords; i++) {
+            wordCounts.add("w" + i, 1 + random.nextInt(100_000));
+        }
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, Integer>> heapSelect() {
+        return TopWords.select(wordCounts, k);
+    }
+
+    // Original writeResults approach: sort every entry, keep the first k
+    @Benchmark
+    public List<Map.Entry<String, Integer>> fullSort() {
+        return wordCounts.asMap().entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(k)
+                .toList();
+    }
+}
@@ -0,0 +1,151 @@
+package module7;
+
+/**
+ * JMH benchmarks for the module7 word-count pipeline.
+ *
+ * Every benchmark counts the same generated corpus, so scores are directly
+ * comparable. The regex benchmark is the original split/replaceAll pipeline
+ * kept as a baseline; setup fails if any path disagrees with it.
+ *
+ * Run with -prof gc to see allocation per operation.
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import module7.discussionpost.GoodScopeExample;
+import module7.discussionpost.GoodScopeExample.ProcessingResult;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WordCountBenchmark {
+
+    private static final String[] VOCABULARY = {
+            "The", "quick", "brown", "fox's", "JUMPS", "over", "lazy", "dog.", "(scope)",
+            "minimization", "--", "Java21", "e-mail", "naïve", "\u212Aelvin", "well-known",
+            "a", "I/O", "thread-safe", "2024" };
+
+    @Param({ "100000" })
+    int lines;
+
+    private List<String> input;
+    private String inputText;
+    private Path inputFile;
+    private GoodScopeExample example;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = generateLines(lines, 42L);
+        inputText = String.join("\n", input);
+        inputFile = Files.createTempFile("wordcount-bench", ".txt");
+        Files.writeString(inputFile, inputText);
+        example = new GoodScopeExample();
+
+        // GOOD: Fail fast if an optimized path stops matching the original counts
+        Map<String, Integer> expected = regexBaseline();
+        if (!expected.equals(processData().wordCount())
+                || !expected.equals(processDataParallel().wordCount())
+                || !expected.equals(streamingReader().wordCount())
+                || !expected.equals(mappedFile().wordCount())) {
+            throw new IllegalStateException("Word counts differ from the regex baseline");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(inputFile);
+    }
+
+    // Original pipeline: toLowerCase + split + replaceAll + boxed HashMap
+    @Benchmark
+    public Map<String, Integer> regexBaseline() {
+        Map<String, Integer> wordCount = new HashMap<>();
+        for (String entry : input) {
+            for (String word : entry.toLowerCase().split("\\s+")) {
+                String cleanWord = word.replaceAll("[^a-zA-Z0-9]", "").trim();
+                if (!cleanWord.isEmpty()) {
+                    wordCount.put(cleanWord, wordCount.getOrDefault(cleanWord, 0) + 1);
+                }
+            }
+        }
+        return wordCount;
+    }
+
+    // WordTokenizer feeding a boxed HashMap - isolates the tokenizer gain
+    @Benchmark
+    public Map<String, Integer> tokenizerWithHashMap() {
+        Map<String, Integer> wordCount = new HashMap<>();
+        WordTokenizer tokenizer = new WordTokenizer();
+        WordTokenizer.TokenSink sink = (token, length) -> wordCount.merge(
+                new String(token, 0, length), 1, Integer::sum);
+        for (String entry : input) {
+            tokenizer.tokenize(entry, sink);
+        }
+        return wordCount;
+    }
+
+    @Benchmark
+    public ProcessingResult processData() {
+        return example.processData(input);
+    }
+
+    @Benchmark
+    public ProcessingResult processDataParallel() {
+        return example.processDataParallel(input);
+    }
+
+    @Benchmark
+    public ProcessingResult streamingReader() throws IOException {
+        return example.processStream(new BufferedReader(new StringReader(inputText)));
+    }
+
+    @Benchmark
+    public ProcessingResult mappedFile() throws IOException {
+        return new MappedFileSource(inputFile).count();
+    }
+
+    static List<String> generateLines(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> generated = new ArrayList<>(count);
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            line.setLength(0);
+            int words = 4 + random.nextInt(12);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    line.append(random.nextInt(8) == 0 ? "\t " : " ");
+                }
+                line.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+            }
+            generated.add(line.toString());
+        }
+        return generated;
+    }
+}
@@ -0,0 +1,162 @@
+package module7;
+
+/**
+ * CSC450 Module 7 - Multi-producer word counter
+ *
+ * N producer threads read from many line sources (files, pipes, in-memory
+ * readers) and count into one shared table:
+ * - ConcurrentHashMap lookups are lock-free; only the first insert of a
+ *   word touches a bin lock
+ * - Counts are LongAdders, so producers hitting the same hot word update
+ *   separate cells instead of retrying a single CAS
+ * - Tokenizers and filtered-word collectors stay producer-private and are
+ *   merged once at the end
+ *
+ * Entry-level semantics match the streaming reader: blank lines are skipped,
+ * every other line is one entry.
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import module7.discussionpost.GoodScopeExample.ProcessingResult;
+
+final class ConcurrentWordCounter {
+
+    /**
+     * One input for a producer, opened lazily on the producer thread.
+     */
+    @FunctionalInterface
+    interface LineSource {
+        BufferedReader open() throws IOException;
+
+        static LineSource ofFile(Path path) {
+            return () -> Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        }
+
+        static LineSource of(Reader reader) {
+            return () -> reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        }
+    }
+
+    private final ConcurrentHashMap<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private final LongAdder totalEntries = new LongAdder();
+    private final Supplier<FilteredWords> filteredWords;
+
+    ConcurrentWordCounter() {
+        this(() -> FilteredWords.create(FilteredWords.Mode.ALL));
+    }
+
+    ConcurrentWordCounter(Supplier<FilteredWords> filteredWords) {
+        this.filteredWords = filteredWords;
+    }
+
+    /**
+     * Counts every source using the given number of producer threads and
+     * returns the combined result. Each source is read by exactly one producer.
+     */
+    ProcessingResult ingest(List<LineSource> sources, int producers) throws IOException {
+        if (producers <= 0) {
+            throw new IllegalArgumentException("producers must be positive");
+        }
+        ConcurrentLinkedQueue<LineSource> remaining = new ConcurrentLinkedQueue<>(sources);
+
+        // GOOD: Executor scope limited to the ingest; closing waits for every producer
+        List<Future<FilteredWords>> results = new ArrayList<>(producers);
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            for (int i = 0; i < producers; i++) {
+                results.add(executor.submit(() -> produce(remaining)));
+            }
+        }
+
+        FilteredWords merged = filteredWords.get();
+        for (Future<FilteredWords> result : results) {
+            merged.merge(join(result));
+        }
+        return new ProcessingResult(Math.toIntExact(totalEntries.sum()), toWordCountMap(), merged);
+    }
+
+    // Runs on a producer thread until no sources are left
+    private FilteredWords produce(ConcurrentLinkedQueue<LineSource> remaining) throws IOException {
+        Producer producer = new Producer(filteredWords.get());
+
+        for (LineSource source = remaining.poll(); source != null; source = remaining.poll()) {
+            try (BufferedReader reader = source.open()) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (!WordCountStage.isBlank(line)) {
+                        producer.acceptEntry(line);
+                    }
+                }
+            }
+        }
+        return producer.filtered;
+    }
+
+    private WordCountMap toWordCountMap() {
+        WordCountMap wordCounts = new WordCountMap(counts.size());
+        counts.forEach((word, count) -> wordCounts.add(word, Math.toIntExact(count.sum())));
+        return wordCounts;
+    }
+
+    private static FilteredWords join(Future<FilteredWords> result) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for producers", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IOException("Producer failed", e.getCause());
+        }
+    }
+
+    // GOOD: Everything a producer mutates privately lives in its own instance
+    private final class Producer implements WordTokenizer.TokenSink {
+        private final WordTokenizer tokenizer = new WordTokenizer();
+        private final FilteredWords filtered;
+
+        Producer(FilteredWords filtered) {
+            this.filtered = filtered;
+        }
+
+        void acceptEntry(String line) {
+            totalEntries.increment();
+            tokenizer.tokenize(line, this);
+        }
+
+        @Override
+        public void accept(char[] token, int length) {
+            String word = new String(token, 0, length);
+            // PERFORMANCE: get() is lock-free; computeIfAbsent only for new words
+            LongAdder count = counts.get(word);
+            if (count == null) {
+                count = counts.computeIfAbsent(word, key -> new LongAdder());
+            }
+            count.increment();
+
+            if (length > 3) {
+                filtered.add(token, length);
+            }
+        }
+    }
+}
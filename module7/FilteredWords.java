@@ -0,0 +1,276 @@
+package module7;
+
+/**
+ * CSC450 Module 7 - Filtered word collectors
+ *
+ * Words longer than 3 characters used to be appended to one ArrayList per
+ * run, so memory grew with the token count. The mode picks how much of that
+ * stream is kept:
+ * - ALL: every filtered word in input order (original behaviour)
+ * - DISTINCT: each distinct filtered word once
+ * - SAMPLE: a uniform reservoir sample of fixed size
+ * - COUNT: only the number of filtered words
+ *
+ * Every mode reports the total number of filtered words seen. Collectors are
+ * filled by one thread each and combined with {@link #merge(FilteredWords)}.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+abstract class FilteredWords {
+
+    enum Mode {
+        ALL, DISTINCT, SAMPLE, COUNT
+    }
+
+    static final int DEFAULT_SAMPLE_SIZE = 100;
+
+    protected long total;
+
+    static FilteredWords create(Mode mode) {
+        return create(mode, DEFAULT_SAMPLE_SIZE);
+    }
+
+    static FilteredWords create(Mode mode, int sampleSize) {
+        return switch (mode) {
+            case ALL -> new All();
+            case DISTINCT -> new Distinct();
+            case SAMPLE -> new Sample(sampleSize);
+            case COUNT -> new Count();
+        };
+    }
+
+    abstract Mode mode();
+
+    /**
+     * Records one filtered word held in token[0, length).
+     */
+    abstract void add(char[] token, int length);
+
+    /**
+     * Folds other (same mode) into this collector; other must not be used afterwards.
+     */
+    abstract void merge(FilteredWords other);
+
+    /**
+     * The words this mode keeps: all, distinct, the sample, or none for COUNT.
+     */
+    abstract List<String> words();
+
+    /**
+     * Independent copy with the same mode, total and kept words.
+     */
+    abstract FilteredWords copy();
+
+    /**
+     * Number of filtered words seen, whatever the mode keeps.
+     */
+    long total() {
+        return total;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FilteredWords that
+                && that.mode() == mode()
+                && that.total == total
+                && that.words().equals(words());
+    }
+
+    @Override
+    public int hashCode() {
+        return mode().hashCode() * 31 + Long.hashCode(total);
+    }
+
+    private static final class All extends FilteredWords {
+        private final List<String> words = new ArrayList<>();
+
+        @Override
+        Mode mode() {
+            return Mode.ALL;
+        }
+
+        @Override
+        void add(char[] token, int length) {
+            total++;
+            words.add(new String(token, 0, length));
+        }
+
+        @Override
+        void merge(FilteredWords other) {
+            total += other.total;
+            words.addAll(((All) other).words);
+        }
+
+        @Override
+        List<String> words() {
+            return Collections.unmodifiableList(words);
+        }
+
+        @Override
+        FilteredWords copy() {
+            All copy = new All();
+            copy.merge(this);
+            return copy;
+        }
+    }
+
+    private static final class Distinct extends FilteredWords {
+        // GOOD: Reuses the counter map - a String only for a word's first occurrence
+        private final WordCountMap counts = new WordCountMap();
+
+        @Override
+        Mode mode() {
+            return Mode.DISTINCT;
+        }
+
+        @Override
+        void add(char[] token, int length) {
+            total++;
+            counts.increment(token, length);
+        }
+
+        @Override
+        void merge(FilteredWords other) {
+            total += other.total;
+            counts.addAll(((Distinct) other).counts);
+        }
+
+        @Override
+        List<String> words() {
+            List<String> words = new ArrayList<>(counts.size());
+            counts.forEach((word, count) -> words.add(word));
+            Collections.sort(words);
+            return words;
+        }
+
+        @Override
+        FilteredWords copy() {
+            Distinct copy = new Distinct();
+            copy.merge(this);
+            return copy;
+        }
+    }
+
+    /**
+     * Reservoir sampling (Algorithm R): every filtered word seen so far has
+     * the same chance of being in the sample. A String is only created when
+     * a word is selected.
+     */
+    private static final class Sample extends FilteredWords {
+        private final SplittableRandom random = new SplittableRandom();
+        private final String[] reservoir;
+        private int size;
+
+        Sample(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Sample size must be positive");
+            }
+            reservoir = new String[capacity];
+        }
+
+        @Override
+        Mode mode() {
+            return Mode.SAMPLE;
+        }
+
+        @Override
+        void add(char[] token, int length) {
+            total++;
+            if (size < reservoir.length) {
+                reservoir[size++] = new String(token, 0, length);
+            } else {
+                long slot = random.nextLong(total);
+                if (slot < reservoir.length) {
+                    reservoir[(int) slot] = new String(token, 0, length);
+                }
+            }
+        }
+
+        /**
+         * Draws the merged sample from both reservoirs, picking each slot from
+         * a side in proportion to how many words that side has not yet been
+         * drawn from, so the result is still a uniform sample of both streams.
+         */
+        @Override
+        void merge(FilteredWords other) {
+            Sample that = (Sample) other;
+            String[] mine = reservoir.clone();
+            int mineLeft = size;
+            String[] theirs = that.reservoir.clone();
+            int theirsLeft = that.size;
+            long mineUnseen = total;
+            long theirsUnseen = that.total;
+
+            size = 0;
+            while (size < reservoir.length && (mineLeft > 0 || theirsLeft > 0)) {
+                boolean fromMine = theirsLeft == 0
+                        || (mineLeft > 0 && random.nextLong(mineUnseen + theirsUnseen) < mineUnseen);
+                if (fromMine) {
+                    reservoir[size++] = takeRandom(mine, mineLeft--);
+                    mineUnseen--;
+                } else {
+                    reservoir[size++] = takeRandom(theirs, theirsLeft--);
+                    theirsUnseen--;
+                }
+            }
+            total += that.total;
+        }
+
+        // Removes and returns a random element of words[0, count)
+        private String takeRandom(String[] words, int count) {
+            int index = random.nextInt(count);
+            String word = words[index];
+            words[index] = words[count - 1];
+            return word;
+        }
+
+        @Override
+        List<String> words() {
+            return Arrays.asList(Arrays.copyOf(reservoir, size));
+        }
+
+        @Override
+        FilteredWords copy() {
+            Sample copy = new Sample(reservoir.length);
+            System.arraycopy(reservoir, 0, copy.reservoir, 0, size);
+            copy.size = size;
+            copy.total = total;
+            return copy;
+        }
+    }
+
+    private static final class Count extends FilteredWords {
+
+        @Override
+        Mode mode() {
+            return Mode.COUNT;
+        }
+
+        @Override
+        void add(char[] token, int length) {
+            total++;
+        }
+
+        @Override
+        void merge(FilteredWords other) {
+            total += other.total;
+        }
+
+        @Override
+        List<String> words() {
+            return List.of();
+        }
+
+        @Override
+        FilteredWords copy() {
+            Count copy = new Count();
+            copy.total = total;
+            return copy;
+        }
+    }
+}
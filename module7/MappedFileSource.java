@@ -0,0 +1,146 @@
+package module7;
+
+/**
+ * CSC450 Module 7 - Memory-mapped file input for the word counter
+ *
+ * Maps a UTF-8 text file with FileChannel.map, cuts it into chunks that end
+ * on a line boundary, and counts each chunk on a ForkJoinPool worker
+ * directly from the mapped bytes. Nothing goes through Scanner or a
+ * CharsetDecoder, and no per-line Strings are created.
+ *
+ * PERFORMANCE:
+ * - The OS pages the file in; the JVM heap only holds the counts
+ * - Chunks are counted in parallel and merged in file order, so the
+ *   ProcessingResult matches reading the same file line by line
+ */
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+import module7.discussionpost.GoodScopeExample.ProcessingResult;
+
+final class MappedFileSource {
+
+    private static final long MIN_CHUNK_BYTES = 1L << 20;
+    // A single mapping cannot exceed Integer.MAX_VALUE bytes
+    private static final long MAX_CHUNK_BYTES = 1L << 28;
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final Path path;
+    private final Supplier<WordCountStage> stages;
+
+    MappedFileSource(Path path) {
+        this(path, WordCountStage::new);
+    }
+
+    MappedFileSource(Path path, Supplier<WordCountStage> stages) {
+        this.path = path;
+        this.stages = stages;
+    }
+
+    ProcessingResult count() throws IOException {
+        return count(ForkJoinPool.commonPool());
+    }
+
+    ProcessingResult count(ForkJoinPool pool) throws IOException {
+        // GOOD: Channel only open while the chunks are mapped and counted
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long targetChunk = Math.clamp(channel.size() / ((long) pool.getParallelism() * CHUNKS_PER_WORKER),
+                    MIN_CHUNK_BYTES, MAX_CHUNK_BYTES);
+            List<MappedByteBuffer> chunks = mapChunks(channel, targetChunk);
+
+            if (chunks.isEmpty()) {
+                return stages.get().result();
+            }
+            return pool.invoke(new ChunkTask(chunks, 0, chunks.size(), stages)).result();
+        }
+    }
+
+    /**
+     * Maps the file as consecutive chunks of about targetChunk bytes. Each
+     * chunk is trimmed back to its last line terminator so no line is split;
+     * a line longer than the chunk grows the window until it fits.
+     */
+    private static List<MappedByteBuffer> mapChunks(FileChannel channel, long targetChunk) throws IOException {
+        List<MappedByteBuffer> chunks = new ArrayList<>();
+        long size = channel.size();
+        long start = 0;
+
+        while (start < size) {
+            long window = Math.min(targetChunk, size - start);
+            MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, window);
+
+            while (start + window < size) {
+                int end = lastLineEnd(chunk);
+                if (end > 0) {
+                    chunk = chunk.slice(0, end);
+                    break;
+                }
+                if (window >= Integer.MAX_VALUE) {
+                    throw new IOException("Line longer than " + Integer.MAX_VALUE + " bytes in " + channel);
+                }
+                window = Math.min(Math.min(window * 2, Integer.MAX_VALUE), size - start);
+                chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, window);
+            }
+
+            chunks.add(chunk);
+            start += chunk.limit();
+        }
+        return chunks;
+    }
+
+    // Length of the chunk up to and including its last '\n' or '\r', or 0 if none
+    private static int lastLineEnd(MappedByteBuffer chunk) {
+        for (int i = chunk.limit() - 1; i >= 0; i--) {
+            byte b = chunk.get(i);
+            if (b == '\n' || b == '\r') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    // GOOD: Each task counts into its own stage, merged left-to-right
+    // Holds mapped buffers, so it could not be serialized anyway
+    @SuppressWarnings("serial")
+    private static final class ChunkTask extends RecursiveTask<WordCountStage> {
+        private final List<MappedByteBuffer> chunks;
+        private final int from;
+        private final int to;
+        private final Supplier<WordCountStage> stages;
+
+        ChunkTask(List<MappedByteBuffer> chunks, int from, int to, Supplier<WordCountStage> stages) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.stages = stages;
+        }
+
+        @Override
+        protected WordCountStage compute() {
+            if (to - from == 1) {
+                MappedByteBuffer chunk = chunks.get(from);
+                WordCountStage stage = stages.get();
+                stage.acceptLines(chunk, 0, chunk.limit());
+                return stage;
+            }
+
+            int mid = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(chunks, from, mid, stages);
+            left.fork();
+            WordCountStage right = new ChunkTask(chunks, mid, to, stages).compute();
+
+            WordCountStage merged = left.join();
+            merged.merge(right);
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package module7;
+
+/**
+ * CSC450 Module 7 - Results output stage
+ *
+ * Writes a ProcessingResult through one sized buffer straight onto a
+ * FileChannel, so the many small appends of a report or table are batched
+ * into large channel writes. Besides the human-readable report, the full
+ * word-count table can be written as CSV or JSON Lines for downstream jobs.
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+final class ResultsWriter {
+
+    enum Format {
+        REPORT("txt"), CSV("csv"), JSON_LINES("jsonl");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        String extension() {
+            return extension;
+        }
+    }
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private ResultsWriter() {
+    }
+
+    /**
+     * Opens file for writing (truncating it) behind a char buffer and an
+     * encoder byte buffer of bufferSize each. Closing the writer closes the channel.
+     */
+    static Writer open(Path file, int bufferSize) throws IOException {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            Writer encoder = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), bufferSize);
+            return new BufferedWriter(encoder, bufferSize);
+        } catch (RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * One "word,count" row per word after a header row.
+     */
+    static void writeCsv(Writer writer, WordCountMap wordCounts) throws IOException {
+        writer.write("word,count\n");
+        forEachRow(wordCounts, (word, count) -> {
+            writeCsvField(writer, word);
+            writer.write(',');
+            writer.write(Integer.toString(count));
+            writer.write('\n');
+        });
+    }
+
+    /**
+     * One {"word":...,"count":...} object per line.
+     */
+    static void writeJsonLines(Writer writer, WordCountMap wordCounts) throws IOException {
+        forEachRow(wordCounts, (word, count) -> {
+            writer.write("{\"word\":");
+            writeJsonString(writer, word);
+            writer.write(",\"count\":");
+            writer.write(Integer.toString(count));
+            writer.write("}\n");
+        });
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(String word, int count) throws IOException;
+    }
+
+    // WordCountMap.forEach cannot throw checked exceptions; tunnel IOException through it
+    private static void forEachRow(WordCountMap wordCounts, RowWriter row) throws IOException {
+        try {
+            wordCounts.forEach((word, count) -> {
+                try {
+                    row.write(word, count);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Tokenizer output is alphanumeric, but quote defensively per RFC 4180
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static void writeJsonString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c < 0x20) {
+                writer.write(String.format("\\u%04x", (int) c));
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,157 @@
+package module7;
+
+/**
+ * CSC450 Module 7 - Word counter with live snapshots
+ *
+ * Lets other threads read the current counts of a long-running feed while
+ * the ingest thread keeps counting. Copy-on-snapshot design:
+ * - The ingest thread counts into a private delta stage, with no locking
+ * - Every handoffInterval entries (or sooner, once a reader has asked) it
+ *   queues the delta and starts a fresh one - an O(1) handoff
+ * - Readers merge queued deltas into a base stage under a lock only readers
+ *   take, then copy or query it
+ *
+ * The ingest thread only ever tries the base lock (to fold deltas in when no
+ * reader holds it), so a reader can never stall ingestion. A snapshot covers
+ * every handed-off entry: at most handoffInterval entries behind, and within
+ * MIN_REQUESTED_HANDOFF entries of the previous snapshot request.
+ *
+ * THREAD SAFETY: acceptEntry and finish must be called from a single ingest
+ * thread; snapshot, uniqueWords and topWords may be called from any thread.
+ */
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import module7.discussionpost.GoodScopeExample.ProcessingResult;
+
+final class SnapshottingWordCounter {
+
+    static final int DEFAULT_HANDOFF_INTERVAL = 10_000;
+    // Keeps a reader polling in a loop from forcing a new delta on every entry
+    static final int MIN_REQUESTED_HANDOFF = 128;
+
+    private final Supplier<WordCountStage> stages;
+    private final int handoffInterval;
+    private final ConcurrentLinkedQueue<WordCountStage> handedOff = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock baseLock = new ReentrantLock();
+    private final WordCountStage base;
+
+    // Ingest-thread state
+    private WordCountStage delta;
+    private int entriesSinceHandoff;
+
+    // Set by readers, cleared by the ingest thread on handoff
+    private volatile boolean handoffRequested;
+
+    SnapshottingWordCounter() {
+        this(WordCountStage::new, DEFAULT_HANDOFF_INTERVAL);
+    }
+
+    SnapshottingWordCounter(Supplier<WordCountStage> stages, int handoffInterval) {
+        if (handoffInterval <= 0) {
+            throw new IllegalArgumentException("handoffInterval must be positive");
+        }
+        this.stages = stages;
+        this.handoffInterval = handoffInterval;
+        this.base = stages.get();
+        this.delta = stages.get();
+    }
+
+    /**
+     * Counts one entry. Ingest thread only.
+     */
+    void acceptEntry(CharSequence entry) {
+        delta.acceptEntry(entry);
+
+        if (++entriesSinceHandoff >= handoffInterval
+                || (handoffRequested && entriesSinceHandoff >= MIN_REQUESTED_HANDOFF)) {
+            handOff();
+        }
+    }
+
+    /**
+     * Hands off the last delta and returns the final counts. Ingest thread
+     * only; no more entries may be accepted afterwards.
+     */
+    ProcessingResult finish() {
+        handOff();
+        baseLock.lock();
+        try {
+            drainHandedOff();
+            return base.snapshot();
+        } finally {
+            baseLock.unlock();
+        }
+    }
+
+    /**
+     * Consistent copy of every handed-off entry. Never blocks the ingest thread.
+     */
+    ProcessingResult snapshot() {
+        handoffRequested = true;
+        baseLock.lock();
+        try {
+            drainHandedOff();
+            return base.snapshot();
+        } finally {
+            baseLock.unlock();
+        }
+    }
+
+    /**
+     * Unique word count without copying the table.
+     */
+    int uniqueWords() {
+        handoffRequested = true;
+        baseLock.lock();
+        try {
+            drainHandedOff();
+            return base.uniqueWords();
+        } finally {
+            baseLock.unlock();
+        }
+    }
+
+    /**
+     * Current top-K words without copying the table.
+     */
+    List<Map.Entry<String, Integer>> topWords(int k) {
+        handoffRequested = true;
+        baseLock.lock();
+        try {
+            drainHandedOff();
+            return base.topWords(k);
+        } finally {
+            baseLock.unlock();
+        }
+    }
+
+    private void handOff() {
+        if (entriesSinceHandoff > 0) {
+            handedOff.add(delta);
+            delta = stages.get();
+            entriesSinceHandoff = 0;
+        }
+        handoffRequested = false;
+
+        // GOOD: Fold deltas in only if no reader is busy - the hot path never waits
+        if (baseLock.tryLock()) {
+            try {
+                drainHandedOff();
+            } finally {
+                baseLock.unlock();
+            }
+        }
+    }
+
+    // Caller holds baseLock
+    private void drainHandedOff() {
+        for (WordCountStage next = handedOff.poll(); next != null; next = handedOff.poll()) {
+            base.merge(next);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package module7;
+
+/**
+ * CSC450 Module 7 - Structured concurrency for the thread-safe scope tasks
+ *
+ * Runs ThreadSafeScopeExample's worker tasks as one scoped fan-out on
+ * virtual threads, so every forked task lives and dies with one lexical
+ * scope:
+ * - Fail fast: all tasks must succeed; the first failure cancels the
+ *   remaining siblings
+ * - First answer: any one answer is enough; the first result cancels the
+ *   remaining siblings
+ * Cancelled siblings are interrupted immediately, which frees their threads
+ * instead of letting doomed work run to completion.
+ *
+ * These are the ShutdownOnFailure and ShutdownOnSuccess policies of
+ * StructuredTaskScope. That API is still a preview in Java 21, and needing
+ * --enable-preview would put the whole module7 package in preview mode, so
+ * the scope is built from a try-with-resources virtual-thread executor
+ * instead. Closing the executor waits for every forked thread, so no task
+ * outlives the method that forked it.
+ *   jrun module7.StructuredScopeExample [taskCount [failingTask]]
+ */
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import module7.discussionpost.ThreadSafeScopeExample;
+import module7.discussionpost.ThreadSafeScopeExample.RandomSource;
+
+final class StructuredScopeExample {
+
+    static final int DEFAULT_TASK_COUNT = 10;
+    // Replicas for the first-answer policy add up to this much latency before the shared work
+    private static final int MAX_REPLICA_DELAY_MS = 200;
+    // A failing task fails after this long, well before a normal task finishes
+    private static final int FAILURE_DELAY_MS = 20;
+
+    /**
+     * When the scope stops waiting and cancels whatever is still running.
+     */
+    enum Policy {
+        FAIL_FAST("Fail fast"),
+        FIRST_ANSWER("First answer");
+
+        private final String label;
+
+        Policy(String label) {
+            this.label = label;
+        }
+    }
+
+    private final int taskCount;
+    private final RandomSource randomSource;
+    private final Duration deadline;
+
+    StructuredScopeExample(int taskCount) {
+        this(taskCount, RandomSource.threadLocal(), ThreadSafeScopeExample.DEFAULT_DEADLINE);
+    }
+
+    StructuredScopeExample(int taskCount, RandomSource randomSource, Duration deadline) {
+        if (taskCount <= 0) {
+            throw new IllegalArgumentException("Task count must be positive");
+        }
+        this.taskCount = taskCount;
+        this.randomSource = randomSource;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Outcome of one scope. cancelled counts siblings that never produced a
+     * result because the scope shut down (failure, success or deadline).
+     */
+    record ScopeReport(String policy, List<String> results, int succeeded, int failed, int cancelled,
+            long elapsedNanos, Throwable failure) {
+    }
+
+    /**
+     * All tasks must succeed. failingTask (or -1 for none) throws shortly
+     * after starting, which shuts the scope down and cancels every sibling.
+     */
+    ScopeReport runAll(int failingTask) throws InterruptedException {
+        List<Callable<String>> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            final int taskId = i; // GOOD: Effectively final for lambda capture
+            tasks.add(() -> {
+                if (taskId == failingTask) {
+                    Thread.sleep(FAILURE_DELAY_MS);
+                    throw new IllegalStateException("Task " + taskId + " failed");
+                }
+                return ThreadSafeScopeExample.runTask(taskId, randomSource.forTask(taskId));
+            });
+        }
+        return runScope(Policy.FAIL_FAST, tasks);
+    }
+
+    /**
+     * Any one task's answer is enough. Each replica waits a random delay
+     * first; the fastest result wins and the slower replicas are cancelled.
+     */
+    ScopeReport firstAnswer() throws InterruptedException {
+        List<Callable<String>> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            final int taskId = i;
+            tasks.add(() -> {
+                var random = randomSource.forTask(taskId);
+                Thread.sleep(random.nextInt(MAX_REPLICA_DELAY_MS));
+                return ThreadSafeScopeExample.runTask(taskId, random);
+            });
+        }
+        return runScope(Policy.FIRST_ANSWER, tasks);
+    }
+
+    private ScopeReport runScope(Policy policy, List<Callable<String>> tasks) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadlineNanos = start + deadline.toNanos();
+        List<Future<String>> futures = new ArrayList<>(tasks.size());
+        List<String> results = new ArrayList<>(tasks.size());
+        Throwable failure = null;
+
+        // GOOD: close() does not return until every forked thread has finished
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<String> completed = new ExecutorCompletionService<>(scope);
+            for (Callable<String> task : tasks) {
+                futures.add(completed.submit(task));
+            }
+
+            try {
+                for (int remaining = tasks.size(); remaining > 0; remaining--) {
+                    Future<String> next = completed.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        // Past the deadline: cancel unfinished tasks rather than await them
+                        failure = new TimeoutException("Deadline of " + deadline + " passed");
+                        break;
+                    }
+                    if (next.state() == Future.State.FAILED) {
+                        if (policy == Policy.FAIL_FAST) {
+                            failure = next.exceptionNow();
+                            break;
+                        }
+                        continue;
+                    }
+                    if (policy == Policy.FIRST_ANSWER) {
+                        results.add(next.resultNow());
+                        break;
+                    }
+                }
+                if (policy == Policy.FIRST_ANSWER && results.isEmpty() && failure == null) {
+                    failure = new ExecutionException("Every replica failed", null);
+                }
+            } finally {
+                // GOOD: Shut the scope down; cancelling a finished task is a no-op
+                for (Future<String> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+
+        if (policy == Policy.FAIL_FAST && failure == null) {
+            for (Future<String> future : futures) {
+                results.add(future.resultNow());
+            }
+        }
+        return report(policy, futures, results, start, failure);
+    }
+
+    private static ScopeReport report(Policy policy, List<Future<String>> futures, List<String> results,
+            long start, Throwable failure) {
+        int succeeded = 0;
+        int failed = 0;
+        int cancelled = 0;
+        for (Future<String> future : futures) {
+            switch (future.state()) {
+                case SUCCESS -> succeeded++;
+                case FAILED -> failed++;
+                case CANCELLED, RUNNING -> cancelled++;
+            }
+        }
+        return new ScopeReport(policy.label, results, succeeded, failed, cancelled, System.nanoTime() - start,
+                failure);
+    }
+
+    private static void printReport(ScopeReport report) {
+        System.out.printf("%-18s %4d succeeded %4d failed %4d cancelled %8.1f ms%n",
+                report.policy(), report.succeeded(), report.failed(), report.cancelled(),
+                report.elapsedNanos() / 1e6);
+        if (report.failure() != null) {
+            System.out.println("  Failure: " + report.failure().getMessage());
+        }
+        for (String result : report.results()) {
+            System.out.println("  " + result);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        int failingTask = args.length > 1 ? Integer.parseInt(args[1]) : taskCount / 2;
+        StructuredScopeExample example = new StructuredScopeExample(taskCount);
+
+        System.out.println("=== Structured Concurrency Demonstration ===\n");
+
+        System.out.println("--- All tasks succeed ---");
+        printReport(example.runAll(-1));
+
+        System.out.println("\n--- Task " + failingTask + " fails; siblings are cancelled ---");
+        printReport(example.runAll(failingTask));
+
+        System.out.println("\n--- First answer wins; slower replicas are cancelled ---");
+        printReport(example.firstAnswer());
+    }
+}
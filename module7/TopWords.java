@@ -0,0 +1,122 @@
+package module7;
+
+/**
+ * CSC450 Module 7 - Top-K word selection
+ *
+ * Keeps the K most frequent words in a bounded min-heap while scanning the
+ * counts once, instead of sorting every entry. Runs in O(n log K) time and
+ * O(K) space; the heap is plain parallel arrays so there is no per-entry
+ * allocation during the scan.
+ *
+ * Ties are broken alphabetically so the report is deterministic.
+ */
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+final class TopWords {
+
+    private final String[] words;
+    private final int[] counts;
+    private int size;
+
+    private TopWords(int k) {
+        words = new String[k];
+        counts = new int[k];
+    }
+
+    /**
+     * Returns the k most frequent words, most frequent first.
+     */
+    static List<Map.Entry<String, Integer>> select(WordCountMap wordCounts, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+
+        TopWords heap = new TopWords(Math.min(k, wordCounts.size()));
+        wordCounts.forEach(heap::offer);
+        return heap.drainDescending();
+    }
+
+    private void offer(String word, int count) {
+        if (words.length == 0) {
+            return;
+        }
+        if (size < words.length) {
+            words[size] = word;
+            counts[size] = count;
+            siftUp(size++);
+        } else if (ranksBelow(0, word, count)) {
+            // GOOD: Only words that beat the current K-th place touch the heap
+            words[0] = word;
+            counts[0] = count;
+            siftDown(0);
+        }
+    }
+
+    private List<Map.Entry<String, Integer>> drainDescending() {
+        List<Map.Entry<String, Integer>> top = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            top.add(null);
+        }
+        // Popping the min-heap yields ascending order; fill from the back
+        while (size > 0) {
+            top.set(size - 1, new AbstractMap.SimpleImmutableEntry<>(words[0], counts[0]));
+            size--;
+            words[0] = words[size];
+            counts[0] = counts[size];
+            words[size] = null;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBelow(index, words[parent], counts[parent])) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && ranksBelow(left, words[smallest], counts[smallest])) {
+                smallest = left;
+            }
+            if (right < size && ranksBelow(right, words[smallest], counts[smallest])) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    // True if the heap slot ranks below (word, count): lower count, or same count and later word
+    private boolean ranksBelow(int slot, String word, int count) {
+        if (counts[slot] != count) {
+            return counts[slot] < count;
+        }
+        return words[slot].compareTo(word) > 0;
+    }
+
+    private void swap(int a, int b) {
+        String word = words[a];
+        words[a] = words[b];
+        words[b] = word;
+        int count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+    }
+}
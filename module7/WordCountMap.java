@@ -0,0 +1,328 @@
+package module7;
+
+/**
+ * CSC450 Module 7 - Primitive String to int counter map
+ *
+ * Open-addressing (linear probing) hash table with parallel key, hash and
+ * count arrays. Compared to {@code HashMap<String, Integer>} it needs no
+ * Node or boxed Integer per word, increments in place with a single probe
+ * sequence, and can count a token straight out of a char buffer - a String
+ * is only allocated the first time a word is seen.
+ *
+ * THREAD SAFETY: Not thread-safe. Use one map per thread and merge with
+ * {@link #addAll(WordCountMap)}.
+ */
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+
+final class WordCountMap {
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private String[] keys;
+    private int[] hashes;
+    private int[] counts;
+    private int size;
+    private int resizeAt;
+
+    WordCountMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    WordCountMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Adds one to the count of the word held in token[0, length). Allocates a
+     * String only when the word is new.
+     */
+    void increment(char[] token, int length) {
+        int hash = hash(token, length);
+        int mask = keys.length - 1;
+
+        for (int slot = spread(hash) & mask;; slot = (slot + 1) & mask) {
+            String key = keys[slot];
+            if (key == null) {
+                insert(slot, new String(token, 0, length), hash, 1);
+                return;
+            }
+            if (hashes[slot] == hash && contentEquals(key, token, length)) {
+                counts[slot]++;
+                return;
+            }
+        }
+    }
+
+    void increment(String word) {
+        add(word, 1);
+    }
+
+    /**
+     * Adds delta to the count of word, inserting it if absent.
+     */
+    void add(String word, int delta) {
+        int hash = word.hashCode();
+        int mask = keys.length - 1;
+
+        for (int slot = spread(hash) & mask;; slot = (slot + 1) & mask) {
+            String key = keys[slot];
+            if (key == null) {
+                insert(slot, word, hash, delta);
+                return;
+            }
+            if (hashes[slot] == hash && key.equals(word)) {
+                counts[slot] += delta;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Merges every count from other into this map.
+     */
+    void addAll(WordCountMap other) {
+        String[] otherKeys = other.keys;
+        for (int slot = 0; slot < otherKeys.length; slot++) {
+            if (otherKeys[slot] != null) {
+                add(otherKeys[slot], other.counts[slot]);
+            }
+        }
+    }
+
+    /**
+     * Returns the count for word, or 0 if it has not been seen.
+     */
+    int get(Object word) {
+        int slot = find(word);
+        return slot < 0 ? 0 : counts[slot];
+    }
+
+    boolean contains(Object word) {
+        return find(word) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Visits every word and its count without boxing.
+     */
+    void forEach(ObjIntConsumer<String> action) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null) {
+                action.accept(keys[slot], counts[slot]);
+            }
+        }
+    }
+
+    /**
+     * Read-only Map view backed by this counter. Counts are boxed only as
+     * entries are read.
+     */
+    Map<String, Integer> asMap() {
+        return new MapView();
+    }
+
+    WordCountMap copy() {
+        WordCountMap copy = new WordCountMap(size);
+        copy.addAll(this);
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof WordCountMap that) || that.size != size) {
+            return false;
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null && that.get(keys[slot]) != counts[slot]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // Same value as the equivalent Map<String, Integer>
+        int result = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null) {
+                result += hashes[slot] ^ counts[slot];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return asMap().toString();
+    }
+
+    private int find(Object word) {
+        if (!(word instanceof String key)) {
+            return -1;
+        }
+        int hash = key.hashCode();
+        int mask = keys.length - 1;
+
+        for (int slot = spread(hash) & mask;; slot = (slot + 1) & mask) {
+            String candidate = keys[slot];
+            if (candidate == null) {
+                return -1;
+            }
+            if (hashes[slot] == hash && candidate.equals(key)) {
+                return slot;
+            }
+        }
+    }
+
+    private void insert(int slot, String word, int hash, int count) {
+        keys[slot] = word;
+        hashes[slot] = hash;
+        counts[slot] = count;
+        if (++size >= resizeAt) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        String[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        int[] oldCounts = counts;
+        if (oldKeys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("WordCountMap is full");
+        }
+
+        allocate(oldKeys.length * 2);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = spread(oldHashes[i]) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                hashes[slot] = oldHashes[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        hashes = new int[capacity];
+        counts = new int[capacity];
+        // PERFORMANCE: 0.5 load factor keeps linear-probe chains short
+        resizeAt = capacity >>> 1;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long needed = Math.max(DEFAULT_CAPACITY, expectedSize * 2L);
+        return needed >= MAX_CAPACITY ? MAX_CAPACITY : Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    // Same value as String.hashCode(), so stored hashes work for both lookup paths
+    private static int hash(char[] token, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + token[i];
+        }
+        return h;
+    }
+
+    // String hashes cluster in the low bits; mix before masking
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean contentEquals(String key, char[] token, int length) {
+        if (key.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != token[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final class MapView extends AbstractMap<String, Integer> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return contains(key);
+        }
+
+        @Override
+        public Integer get(Object key) {
+            int slot = find(key);
+            return slot < 0 ? null : counts[slot];
+        }
+
+        @Override
+        public Set<Map.Entry<String, Integer>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Iterator<Map.Entry<String, Integer>> iterator() {
+                    return new EntryIterator();
+                }
+            };
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Integer>> {
+        private int next = advance(0);
+
+        @Override
+        public boolean hasNext() {
+            return next < keys.length;
+        }
+
+        @Override
+        public Map.Entry<String, Integer> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int slot = next;
+            next = advance(slot + 1);
+            return new AbstractMap.SimpleImmutableEntry<>(keys[slot], counts[slot]);
+        }
+
+        private int advance(int from) {
+            int slot = from;
+            while (slot < keys.length && keys[slot] == null) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package module7;
+
+/**
+ * CSC450 Module 7 - Word counting stage
+ *
+ * Consumes entries one at a time and keeps only the running counts, so the
+ * caller decides whether input is buffered (processData), split across
+ * workers (processDataParallel) or streamed straight from a reader.
+ * Per-worker stages are combined with {@link #merge(WordCountStage)}.
+ *
+ * THREAD SAFETY: Not thread-safe - one stage per thread.
+ */
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import module7.discussionpost.GoodScopeExample.ProcessingResult;
+
+final class WordCountStage implements WordTokenizer.TokenSink {
+
+    private final WordTokenizer tokenizer = new WordTokenizer();
+    private final FilteredWords filteredWords;
+    private WordCountMap wordCounts = new WordCountMap();
+    private int totalEntries;
+
+    WordCountStage() {
+        this(FilteredWords.create(FilteredWords.Mode.ALL));
+    }
+
+    WordCountStage(FilteredWords filteredWords) {
+        this.filteredWords = filteredWords;
+    }
+
+    /**
+     * Counts the words of one entry.
+     */
+    void acceptEntry(CharSequence entry) {
+        totalEntries++;
+        tokenizer.tokenize(entry, this);
+    }
+
+    /**
+     * Counts every non-blank line in the UTF-8 bytes buffer[from, to). Lines
+     * end at '\n', '\r' or "\r\n", as with BufferedReader.readLine.
+     */
+    void acceptLines(ByteBuffer buffer, int from, int to) {
+        int lineStart = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || buffer.get(i) == '\n' || buffer.get(i) == '\r') {
+                if (!isBlank(buffer, lineStart, i)) {
+                    totalEntries++;
+                    tokenizer.tokenize(buffer, lineStart, i, this);
+                }
+                lineStart = i + 1;
+            }
+        }
+    }
+
+    @Override
+    public void accept(char[] token, int length) {
+        // GOOD: In-place increment - no boxing, no String for words already seen
+        wordCounts.increment(token, length);
+
+        if (length > 3) {
+            filteredWords.add(token, length);
+        }
+    }
+
+    /**
+     * Folds other into this stage. Filtered words from other are appended
+     * after this stage's, so merging left-to-right keeps input order. other
+     * must not be used afterwards.
+     */
+    void merge(WordCountStage other) {
+        // GOOD: Fold the smaller map into the larger one to limit rehashing
+        if (wordCounts.size() < other.wordCounts.size()) {
+            WordCountMap smaller = wordCounts;
+            wordCounts = other.wordCounts;
+            wordCounts.addAll(smaller);
+        } else {
+            wordCounts.addAll(other.wordCounts);
+        }
+
+        filteredWords.merge(other.filteredWords);
+        totalEntries += other.totalEntries;
+    }
+
+    int totalEntries() {
+        return totalEntries;
+    }
+
+    int uniqueWords() {
+        return wordCounts.size();
+    }
+
+    List<Map.Entry<String, Integer>> topWords(int k) {
+        return TopWords.select(wordCounts, k);
+    }
+
+    /**
+     * Hands the counts over as a ProcessingResult. The stage must not be fed
+     * after this call.
+     */
+    ProcessingResult result() {
+        return new ProcessingResult(totalEntries, wordCounts, filteredWords);
+    }
+
+    /**
+     * Copies the counts so far into an independent ProcessingResult; the
+     * stage can keep being fed afterwards.
+     */
+    ProcessingResult snapshot() {
+        return new ProcessingResult(totalEntries, wordCounts.copy(), filteredWords.copy());
+    }
+
+    /**
+     * Same test as {@code entry.trim().isEmpty()} without creating a String.
+     */
+    static boolean isBlank(CharSequence entry) {
+        for (int i = 0, n = entry.length(); i < n; i++) {
+            if (entry.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(ByteBuffer utf8, int from, int to) {
+        for (int i = from; i < to; i++) {
+            // Any byte of a multi-byte sequence is >= 0x80, so never blank
+            if ((utf8.get(i) & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,153 @@
+package module7;
+
+/**
+ * CSC450 Module 7 - Allocation-free word tokenizer
+ *
+ * Replaces the per-entry {@code toLowerCase().split("\\s+")} followed by
+ * {@code replaceAll("[^a-zA-Z0-9]", "")} on every word. A single pass over
+ * the characters splits on whitespace, lowercases, and drops anything that is
+ * not an ASCII letter or digit, writing the cleaned token into a reusable
+ * buffer.
+ *
+ * Produces the same tokens as the regex pipeline (under a non-Turkic default
+ * locale), including non-ASCII characters whose lowercase form is ASCII such
+ * as the Kelvin sign.
+ *
+ * THREAD SAFETY: Not thread-safe - the token buffer is reused, so use one
+ * tokenizer per thread.
+ */
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+final class WordTokenizer {
+
+    /**
+     * Receives each cleaned token. The buffer is only valid for the duration
+     * of the call and is overwritten by the next token.
+     */
+    @FunctionalInterface
+    interface TokenSink {
+        void accept(char[] token, int length);
+    }
+
+    private static final int DEFAULT_CAPACITY = 32;
+
+    private char[] buffer;
+
+    WordTokenizer() {
+        buffer = new char[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Splits text on whitespace and passes each non-empty cleaned token to the sink.
+     */
+    void tokenize(CharSequence text, TokenSink sink) {
+        int length = 0;
+
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+
+            if (isWhitespace(c)) {
+                if (length > 0) {
+                    sink.accept(buffer, length);
+                    length = 0;
+                }
+                continue;
+            }
+
+            char folded = fold(c);
+            if (folded != 0) {
+                length = append(length, folded);
+            }
+        }
+
+        if (length > 0) {
+            sink.accept(buffer, length);
+        }
+    }
+
+    /**
+     * Same as {@link #tokenize(CharSequence, TokenSink)} for the UTF-8 bytes in
+     * utf8[from, to), read in place without decoding them into a String.
+     * Malformed sequences are dropped, as the decoder's replacement character
+     * would be.
+     */
+    void tokenize(ByteBuffer utf8, int from, int to, TokenSink sink) {
+        int length = 0;
+        int i = from;
+
+        while (i < to) {
+            int b = utf8.get(i++) & 0xFF;
+            char folded;
+
+            if (b < 0x80) {
+                if (isWhitespace((char) b)) {
+                    if (length > 0) {
+                        sink.accept(buffer, length);
+                        length = 0;
+                    }
+                    continue;
+                }
+                folded = fold((char) b);
+            } else if (b < 0xC0) {
+                folded = 0; // stray continuation byte
+            } else {
+                // Rare path: decode the sequence, only a few BMP letters fold to ASCII
+                int remaining = b >= 0xF0 ? 3 : b >= 0xE0 ? 2 : 1;
+                int codePoint = b & (0x3F >> remaining);
+                while (remaining > 0 && i < to && (utf8.get(i) & 0xC0) == 0x80) {
+                    codePoint = codePoint << 6 | (utf8.get(i++) & 0x3F);
+                    remaining--;
+                }
+                folded = remaining == 0 && codePoint >= 0x80 && codePoint <= 0xFFFF
+                        ? fold((char) codePoint)
+                        : 0;
+            }
+
+            if (folded != 0) {
+                length = append(length, folded);
+            }
+        }
+
+        if (length > 0) {
+            sink.accept(buffer, length);
+        }
+    }
+
+    private int append(int length, char c) {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, length * 2);
+        }
+        buffer[length] = c;
+        return length + 1;
+    }
+
+    /**
+     * Same character class as the regex {@code \s}: space, tab, newline,
+     * vertical tab, form feed, carriage return.
+     */
+    static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /**
+     * Lowercases c and returns it if it is an ASCII letter or digit, or 0 if
+     * the regex pipeline would have stripped it.
+     */
+    static char fold(char c) {
+        if (c < 0x80) {
+            if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9') {
+                return c;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                return (char) (c + ('a' - 'A'));
+            }
+            return 0;
+        }
+
+        // Rare path: a few non-ASCII letters lowercase to ASCII (e.g. U+212A -> 'k')
+        char lower = Character.toLowerCase(c);
+        return lower < 0x80 && (lower >= 'a' && lower <= 'z') ? lower : 0;
+    }
+}
@@ -8,19 +8,35 @@ package module7;
  * versus poor scoping practices in Java applications.
  */
 
+import java.io.BufferedReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.RandomAccess;
+import java.util.SplittableRandom;
 import java.util.Scanner;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
 public class discussionpost {
 
@@ -40,6 +56,7 @@ public class discussionpost {
             StringBuilder result = new StringBuilder();
             Map<String, Integer> wordCount = new HashMap<>();
             List<String> filteredData = new ArrayList<>();
+            WordTokenizer tokenizer = new WordTokenizer();
 
             try {
                 scanner = new Scanner(System.in);
@@ -60,18 +77,13 @@ public class discussionpost {
                         totalCount++;
 
                         // Process data - variables declared far from usage
-                        String[] words = userInput.toLowerCase().split("\\s+");
-                        for (String word : words) {
-                            if (!word.trim().isEmpty()) {
-                                String cleanWord = word.replaceAll("[^a-zA-Z0-9]", "");
-                                if (!cleanWord.isEmpty()) {
-                                    wordCount.put(cleanWord, wordCount.getOrDefault(cleanWord, 0) + 1);
-                                    if (cleanWord.length() > 3) {
-                                        filteredData.add(cleanWord);
-                                    }
-                                }
+                        tokenizer.tokenize(userInput, (token, length) -> {
+                            String cleanWord = new String(token, 0, length);
+                            wordCount.put(cleanWord, wordCount.getOrDefault(cleanWord, 0) + 1);
+                            if (cleanWord.length() > 3) {
+                                filteredData.add(cleanWord);
                             }
-                        }
+                        });
                     }
 
                     System.out.print("> ");
@@ -110,19 +122,72 @@ public class discussionpost {
     // Example of GOOD scope management
     static class GoodScopeExample {
 
+        // How entries reach the counting stage
+        enum ProcessingMode {
+            SEQUENTIAL, PARALLEL, STREAMING
+        }
+
+        private static final int DEFAULT_TOP_K = 5;
+
+        private final ProcessingMode mode;
+        private final int topK;
+        private final FilteredWords.Mode filterMode;
+        private final ResultsWriter.Format outputFormat;
+
+        GoodScopeExample() {
+            this(ProcessingMode.SEQUENTIAL);
+        }
+
+        GoodScopeExample(ProcessingMode mode) {
+            this(mode, DEFAULT_TOP_K);
+        }
+
+        GoodScopeExample(ProcessingMode mode, int topK) {
+            this(mode, topK, defaultFilterMode(mode));
+        }
+
+        // GOOD: Streaming keeps memory flat by default; keeping every filtered word (ALL) is opt-in
+        static FilteredWords.Mode defaultFilterMode(ProcessingMode mode) {
+            return mode == ProcessingMode.STREAMING ? FilteredWords.Mode.COUNT : FilteredWords.Mode.ALL;
+        }
+
+        GoodScopeExample(ProcessingMode mode, int topK, FilteredWords.Mode filterMode) {
+            this(mode, topK, filterMode, ResultsWriter.Format.REPORT);
+        }
+
+        GoodScopeExample(ProcessingMode mode, int topK, FilteredWords.Mode filterMode,
+                ResultsWriter.Format outputFormat) {
+            if (topK <= 0) {
+                throw new IllegalArgumentException("topK must be positive");
+            }
+            this.mode = mode;
+            this.topK = topK;
+            this.filterMode = filterMode;
+            this.outputFormat = outputFormat;
+        }
+
+        // GOOD: Every stage of a run - including per-worker ones - keeps filtered words the same way
+        private WordCountStage newStage() {
+            return new WordCountStage(FilteredWords.create(filterMode));
+        }
+
         public void processUserData() {
-            final String fileName = "good_output.txt";
+            final String fileName = "good_output." + outputFormat.extension();
 
             try {
                 System.out.println("Good Scope Example - Demonstrating proper scope management:");
 
-                // Scope 1: Input collection phase
-                List<String> collectedData = collectUserInput();
-
-                if (!collectedData.isEmpty()) {
-                    // Scope 2: Data processing phase
-                    ProcessingResult result = processData(collectedData);
+                // Scope 1 + 2: Input collection and data processing phases
+                ProcessingResult result = switch (mode) {
+                    case SEQUENTIAL -> processData(collectUserInput());
+                    case PARALLEL -> processDataParallel(collectUserInput());
+                    case STREAMING -> {
+                        System.out.println("Streaming input (end with 'quit' or EOF):");
+                        yield processStream(new BufferedReader(new InputStreamReader(System.in)));
+                    }
+                };
 
+                if (result.totalEntries() > 0) {
                     // Scope 3: Output phase
                     writeResults(fileName, result);
 
@@ -137,6 +202,61 @@ public class discussionpost {
             }
         }
 
+        /**
+         * File variant of processUserData: counts a UTF-8 text file through
+         * MappedFileSource instead of reading System.in.
+         */
+        public void processFile(Path inputFile) {
+            final String fileName = "good_output." + outputFormat.extension();
+
+            try {
+                System.out.println("Good Scope Example - Counting words in " + inputFile);
+
+                ProcessingResult result = new MappedFileSource(inputFile, this::newStage).count();
+
+                if (result.totalEntries() > 0) {
+                    writeResults(fileName, result);
+                    System.out.println("Results written to " + fileName);
+                } else {
+                    System.out.println("No data in " + inputFile);
+                }
+
+            } catch (IOException e) {
+                System.err.println("Processing failed: " + e.getMessage());
+            }
+        }
+
+        /**
+         * Multi-file variant: one producer thread per file (up to the core
+         * count) counting into a shared ConcurrentWordCounter.
+         */
+        public void processFiles(List<Path> inputFiles) {
+            final String fileName = "good_output." + outputFormat.extension();
+            int producers = Math.min(inputFiles.size(), Runtime.getRuntime().availableProcessors());
+
+            try {
+                System.out.println("Good Scope Example - Counting words in " + inputFiles.size()
+                        + " files with " + producers + " producers");
+
+                List<ConcurrentWordCounter.LineSource> sources = new ArrayList<>(inputFiles.size());
+                for (Path inputFile : inputFiles) {
+                    sources.add(ConcurrentWordCounter.LineSource.ofFile(inputFile));
+                }
+                ProcessingResult result = new ConcurrentWordCounter(() -> FilteredWords.create(filterMode))
+                        .ingest(sources, producers);
+
+                if (result.totalEntries() > 0) {
+                    writeResults(fileName, result);
+                    System.out.println("Results written to " + fileName);
+                } else {
+                    System.out.println("No data in " + inputFiles);
+                }
+
+            } catch (IOException e) {
+                System.err.println("Processing failed: " + e.getMessage());
+            }
+        }
+
         private List<String> collectUserInput() {
             List<String> data = new ArrayList<>();
             Scanner scanner = new Scanner(System.in); // Don't use try-with-resources for System.in
@@ -161,131 +281,458 @@ public class discussionpost {
             return data;
         }
 
-        private ProcessingResult processData(List<String> inputData) {
-            Map<String, Integer> wordCount = new HashMap<>();
-            List<String> filteredWords = new ArrayList<>();
+        ProcessingResult processData(List<String> inputData) {
+            WordCountStage stage = newStage();
 
             for (String entry : inputData) {
-                // GOOD: Processing variables have minimal scope
-                {
-                    String[] words = entry.toLowerCase().split("\\s+");
-                    for (String word : words) {
-                        // GOOD: Loop variables have very limited scope
-                        String cleanWord = word.replaceAll("[^a-zA-Z0-9]", "").trim();
-
-                        if (!cleanWord.isEmpty()) {
-                            wordCount.put(cleanWord, wordCount.getOrDefault(cleanWord, 0) + 1);
+                stage.acceptEntry(entry);
+            }
 
-                            if (cleanWord.length() > 3) {
-                                filteredWords.add(cleanWord);
-                            }
-                        }
-                    } // words array scope ends here
-                } // cleanWord scope ends here
+            return stage.result();
+        }
+
+        /**
+         * Streaming variant: each line is counted as soon as it is read and then
+         * dropped, so memory depends on the vocabulary rather than input size.
+         * Stops at end of stream or a 'quit' line, like collectUserInput.
+         */
+        ProcessingResult processStream(BufferedReader reader) throws IOException {
+            WordCountStage stage = newStage();
+
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                // GOOD: line scope limited to one iteration - nothing retained
+                if (WordCountStage.isBlank(line)) {
+                    continue;
+                }
+                if (line.trim().equalsIgnoreCase("quit")) {
+                    break;
+                }
+                stage.acceptEntry(line);
             }
+            // Note: Don't close the reader for System.in in real applications
 
-            return new ProcessingResult(inputData.size(), wordCount, filteredWords);
+            return stage.result();
+        }
+
+        /**
+         * Parallel variant of processData using the common ForkJoinPool.
+         * Produces the same ProcessingResult as the sequential version.
+         */
+        ProcessingResult processDataParallel(List<String> inputData) {
+            return processDataParallel(inputData, ForkJoinPool.commonPool());
+        }
+
+        /**
+         * Splits inputData across the given pool. Each worker counts into its own
+         * map and list, and the partial results are merged as the tasks join.
+         */
+        ProcessingResult processDataParallel(List<String> inputData, ForkJoinPool pool) {
+            // GOOD: Index-based splitting needs cheap random access
+            List<String> entries = inputData instanceof RandomAccess ? inputData : new ArrayList<>(inputData);
+            int threshold = Math.max(MIN_ENTRIES_PER_TASK,
+                    entries.size() / (pool.getParallelism() * TASKS_PER_WORKER));
+
+            return pool.invoke(new CountTask(entries, 0, entries.size(), threshold, this::newStage)).result();
+        }
+
+        private static final int MIN_ENTRIES_PER_TASK = 1_024;
+        private static final int TASKS_PER_WORKER = 4;
+
+        // GOOD: Each task counts into its own stage - no shared mutable state
+        // Never serialized: ForkJoinTask is Serializable only by inheritance
+        @SuppressWarnings("serial")
+        private static final class CountTask extends RecursiveTask<WordCountStage> {
+            private final List<String> entries;
+            private final int from;
+            private final int to;
+            private final int threshold;
+            private final Supplier<WordCountStage> stages;
+
+            CountTask(List<String> entries, int from, int to, int threshold,
+                    Supplier<WordCountStage> stages) {
+                this.entries = entries;
+                this.from = from;
+                this.to = to;
+                this.threshold = threshold;
+                this.stages = stages;
+            }
+
+            @Override
+            protected WordCountStage compute() {
+                if (to - from <= threshold) {
+                    WordCountStage stage = stages.get();
+                    for (int i = from; i < to; i++) {
+                        stage.acceptEntry(entries.get(i));
+                    }
+                    return stage;
+                }
+
+                int mid = (from + to) >>> 1;
+                CountTask left = new CountTask(entries, from, mid, threshold, stages);
+                left.fork();
+                WordCountStage right = new CountTask(entries, mid, to, threshold, stages).compute();
+
+                // Keep filtered words in input order: left range first, then right
+                WordCountStage merged = left.join();
+                merged.merge(right);
+                return merged;
+            }
         }
 
         private void writeResults(String fileName, ProcessingResult result) throws IOException {
-            // GOOD: FileWriter only exists in this limited scope
-            try (FileWriter writer = new FileWriter(fileName)) {
-                writer.write("=== Processing Results ===\n");
-                writer.write("Total entries: " + result.totalEntries() + "\n");
-                writer.write("Unique words: " + result.wordCount().size() + "\n");
-                writer.write("Filtered words (>3 chars): " + result.filteredWords().size() + "\n\n");
+            // GOOD: Writer only exists in this limited scope; one sized buffer batches every write
+            try (Writer writer = ResultsWriter.open(Path.of(fileName), ResultsWriter.DEFAULT_BUFFER_SIZE)) {
+                switch (outputFormat) {
+                    case REPORT -> writeReport(writer, result);
+                    case CSV -> ResultsWriter.writeCsv(writer, result.wordCounts());
+                    case JSON_LINES -> ResultsWriter.writeJsonLines(writer, result.wordCounts());
+                }
+            } // writer automatically flushed and closed here
+        }
 
-                // GOOD: StringBuilder scope limited to where it's needed
-                if (!result.wordCount().isEmpty()) {
-                    StringBuilder wordList = new StringBuilder("Top 5 most frequent words:\n");
+        private void writeReport(Writer writer, ProcessingResult result) throws IOException {
+            writer.write("=== Processing Results ===\n");
+            writer.write("Total entries: " + result.totalEntries() + "\n");
+            writer.write("Unique words: " + result.wordCount().size() + "\n");
+            writeFilteredWords(writer, result.filteredWords());
 
-                    result.wordCount().entrySet().stream()
-                            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-                            .limit(5)
-                            .forEach(entry -> wordList.append("  ")
-                                    .append(entry.getKey())
-                                    .append(": ")
-                                    .append(entry.getValue())
-                                    .append(" times\n"));
+            if (!result.wordCounts().isEmpty()) {
+                writer.write("Top " + topK + " most frequent words:\n");
 
-                    writer.write(wordList.toString());
-                } // wordList scope ends here
+                // GOOD: Bounded heap - O(n log K) instead of sorting every word
+                for (Map.Entry<String, Integer> entry : TopWords.select(result.wordCounts(), topK)) {
+                    writer.write("  " + entry.getKey() + ": " + entry.getValue() + " times\n");
+                }
+            }
+        }
 
-            } // writer automatically closed here
+        // GOOD: Report only what the active filter mode kept
+        private void writeFilteredWords(Writer writer, FilteredWords filtered) throws IOException {
+            writer.write("Filtered words (>3 chars): " + filtered.total() + "\n");
+            switch (filtered.mode()) {
+                case ALL, COUNT -> {
+                    // The total is the whole report
+                }
+                case DISTINCT -> writer.write("Distinct filtered words: " + filtered.words().size() + "\n");
+                case SAMPLE -> writer.write("Filtered word sample (" + filtered.words().size() + "): "
+                        + String.join(", ", filtered.words()) + "\n");
+            }
+            writer.write("\n");
         }
 
         // GOOD: Simple record with minimal scope for data transfer
-        private record ProcessingResult(
+        record ProcessingResult(
                 int totalEntries,
-                Map<String, Integer> wordCount,
-                List<String> filteredWords) {
+                WordCountMap wordCounts,
+                FilteredWords filteredWords) {
+
+            // GOOD: Callers get a read-only view, never the mutable counter
+            Map<String, Integer> wordCount() {
+                return wordCounts.asMap();
+            }
         }
     }
 
     // Demonstration of thread-safe scope minimization
     static class ThreadSafeScopeExample {
 
-        public void demonstrateConcurrentScope() {
-            final int numberOfThreads = 3;
-            final int tasksPerThread = 5;
+        enum ExecutorMode { PLATFORM_POOL, VIRTUAL_PER_TASK }
+
+        /**
+         * Supplies the random generator for one task, called on the thread
+         * that runs the task.
+         */
+        @FunctionalInterface
+        interface RandomSource {
+            RandomGenerator forTask(int taskId);
+
+            // GOOD: No allocation and no shared seed; each carrier thread has its own generator
+            static RandomSource threadLocal() {
+                return taskId -> ThreadLocalRandom.current();
+            }
+
+            /**
+             * Reproducible runs: task n gets the same sequence for a given seed
+             * whatever thread or order it runs in.
+             */
+            static RandomSource seeded(long seed) {
+                return taskId -> new SplittableRandom(mix64(seed + taskId * 0x9E3779B97F4A7C15L));
+            }
+
+            // Scrambles neighbouring task seeds so their streams don't overlap (MurmurHash3 finalizer)
+            private static long mix64(long z) {
+                z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+                z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+                return z ^ (z >>> 33);
+            }
+        }
 
+        static final int DEFAULT_POOL_SIZE = 3;
+        static final int DEFAULT_TASK_COUNT = 3;
+        private static final int STEPS_PER_TASK = 5;
+        // One deadline for the whole batch, not per task
+        static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(2);
+        private static final Duration COMPARISON_DEADLINE = Duration.ofMinutes(1);
+        // Beyond this many tasks only the summary is printed
+        private static final int MAX_PRINTED_RESULTS = 20;
+
+        private final ExecutorMode executorMode;
+        private final int taskCount;
+        private final int poolSize;
+        private final RandomSource randomSource;
+        private final Duration deadline;
+
+        ThreadSafeScopeExample() {
+            this(ExecutorMode.PLATFORM_POOL, DEFAULT_TASK_COUNT, DEFAULT_POOL_SIZE);
+        }
+
+        ThreadSafeScopeExample(ExecutorMode executorMode, int taskCount) {
+            this(executorMode, taskCount, DEFAULT_POOL_SIZE);
+        }
+
+        /**
+         * poolSize only applies to PLATFORM_POOL; VIRTUAL_PER_TASK starts one
+         * virtual thread per task.
+         */
+        ThreadSafeScopeExample(ExecutorMode executorMode, int taskCount, int poolSize) {
+            this(executorMode, taskCount, poolSize, RandomSource.threadLocal());
+        }
+
+        ThreadSafeScopeExample(ExecutorMode executorMode, int taskCount, int poolSize, RandomSource randomSource) {
+            this(executorMode, taskCount, poolSize, randomSource, DEFAULT_DEADLINE);
+        }
+
+        ThreadSafeScopeExample(ExecutorMode executorMode, int taskCount, int poolSize, RandomSource randomSource,
+                Duration deadline) {
+            if (taskCount <= 0 || poolSize <= 0) {
+                throw new IllegalArgumentException("Task count and pool size must be positive");
+            }
+            if (deadline.isNegative()) {
+                throw new IllegalArgumentException("Deadline must not be negative");
+            }
+            this.executorMode = executorMode;
+            this.taskCount = taskCount;
+            this.poolSize = poolSize;
+            this.randomSource = randomSource;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Outcome of one run. peakHeapGrowth is the heap pools' peak usage over
+         * the starting usage; peakPlatformThreads counts OS threads (virtual
+         * threads are not included, their carriers are).
+         */
+        record RunReport(ExecutorMode mode, int tasks, int completed, int timedOut, int failed,
+                long elapsedNanos, long peakHeapGrowth, int peakPlatformThreads) {
+
+            double tasksPerSecond() {
+                return completed * 1e9 / Math.max(1, elapsedNanos);
+            }
+        }
+
+        public void demonstrateConcurrentScope() {
             System.out.println("Thread-Safe Scope Example:");
 
-            // GOOD: ExecutorService scope is minimized
-            try (ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads)) {
+            RunReport report = runTasks(taskCount <= MAX_PRINTED_RESULTS);
+            if (taskCount > MAX_PRINTED_RESULTS) {
+                printReport(report);
+            }
+
+            System.out.println("All threads completed.");
+        }
 
-                List<Future<String>> futures = new ArrayList<>();
+        RunReport runTasks(boolean printResults) {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            long heapBefore = resetHeapPeak();
+            long start = System.nanoTime();
+            long deadlineNanos = start + deadline.toNanos();
+            int completed = 0;
+            int failed = 0;
+            int timedOut;
 
-                for (int i = 0; i < numberOfThreads; i++) {
-                    final int taskId = i; // GOOD: Effectively final for lambda capture
+            // GOOD: ExecutorService scope is minimized
+            try (ExecutorService executor = newExecutor()) {
 
-                    Future<String> future = executor.submit(() -> {
-                        // GOOD: Each thread has its own local scope
-                        try {
-                            StringBuilder result = new StringBuilder();
-                            Random random = new Random();
-
-                            for (int j = 0; j < tasksPerThread; j++) {
-                                int value = random.nextInt(100);
-                                result.append("Task ").append(taskId)
-                                        .append(".").append(j)
-                                        .append(": ").append(value).append(" ");
-
-                                // Simulate work
-                                Thread.sleep(10);
-                            } // j scope ends here
-
-                            return result.toString().trim();
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            return "Task " + taskId + ": Interrupted";
-                        }
-                    });
+                CompletionService<String> completion = new ExecutorCompletionService<>(executor);
+                Map<Future<String>, Integer> pending = new HashMap<>();
 
-                    futures.add(future);
+                for (int i = 0; i < taskCount; i++) {
+                    final int taskId = i; // GOOD: Effectively final for lambda capture
+                    pending.put(completion.submit(() -> runTask(taskId, randomSource.forTask(taskId))), taskId);
                 } // taskId scope ends here
 
-                // Collect results with timeout
-                for (int i = 0; i < futures.size(); i++) {
+                // GOOD: Results handled as they finish; a slow task only delays itself
+                while (!pending.isEmpty()) {
+                    Future<String> future;
                     try {
-                        String result = futures.get(i).get(2, TimeUnit.SECONDS);
-                        System.out.println("Thread " + i + " result: " + result);
-                    } catch (TimeoutException e) {
-                        System.err.println("Thread " + i + " timed out");
-                    } catch (Exception e) {
-                        System.err.println("Thread " + i + " failed: " + e.getMessage());
+                        future = completion.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    if (future == null) {
+                        break; // deadline passed
+                    }
+
+                    int taskId = pending.remove(future);
+                    if (future.state() == Future.State.SUCCESS) {
+                        completed++;
+                        if (printResults) {
+                            System.out.println("Thread " + taskId + " result: " + future.resultNow());
+                        }
+                    } else {
+                        failed++;
+                        if (printResults) {
+                            System.err.println("Thread " + taskId + " failed: " + future.exceptionNow().getMessage());
+                        }
                     }
                 } // future scope ends here
 
+                // Whatever is left missed the deadline; interrupt it so close() doesn't wait on it
+                timedOut = pending.size();
+                pending.forEach((future, taskId) -> {
+                    future.cancel(true);
+                    if (printResults) {
+                        System.err.println("Thread " + taskId + " timed out");
+                    }
+                });
+
             } // executor automatically shutdown here
 
-            System.out.println("All threads completed.");
+            return new RunReport(executorMode, taskCount, completed, timedOut, failed,
+                    System.nanoTime() - start, peakHeap() - heapBefore, threads.getPeakThreadCount());
+        }
+
+        /**
+         * Runs the same task count on the platform pool and on virtual threads
+         * and prints throughput and memory side by side.
+         */
+        static void compareExecutors(int taskCount, int poolSize) {
+            System.out.println("Executor comparison: " + taskCount + " tasks, "
+                    + STEPS_PER_TASK + " x 10 ms blocking steps each");
+            for (ExecutorMode mode : ExecutorMode.values()) {
+                printReport(new ThreadSafeScopeExample(mode, taskCount, poolSize, RandomSource.threadLocal(),
+                        COMPARISON_DEADLINE).runTasks(false));
+            }
+        }
+
+        private ExecutorService newExecutor() {
+            return switch (executorMode) {
+                case PLATFORM_POOL -> Executors.newFixedThreadPool(poolSize);
+                // PERFORMANCE: Blocked virtual threads unmount, so sleeping tasks don't pin OS threads
+                case VIRTUAL_PER_TASK -> Executors.newVirtualThreadPerTaskExecutor();
+            };
+        }
+
+        static String runTask(int taskId, RandomGenerator random) {
+            // GOOD: Each thread has its own local scope
+            try {
+                StringBuilder result = new StringBuilder();
+
+                for (int j = 0; j < STEPS_PER_TASK; j++) {
+                    int value = random.nextInt(100);
+                    result.append("Task ").append(taskId)
+                            .append(".").append(j)
+                            .append(": ").append(value).append(" ");
+
+                    // Simulate work
+                    Thread.sleep(10);
+                } // j scope ends here
+
+                return result.toString().trim();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "Task " + taskId + ": Interrupted";
+            }
+        }
+
+        private static void printReport(RunReport report) {
+            System.out.printf("%-16s %8d done %6d timed out %4d failed %10.1f ms %12.0f tasks/s"
+                    + " %8d KB peak heap growth %6d peak platform threads%n",
+                    report.mode(), report.completed(), report.timedOut(), report.failed(),
+                    report.elapsedNanos() / 1e6, report.tasksPerSecond(),
+                    report.peakHeapGrowth() / 1024, report.peakPlatformThreads());
+        }
+
+        // Virtual thread stacks live on the heap, so heap peaks capture them; a GC between samples doesn't hide them
+        private static long resetHeapPeak() {
+            long used = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                    used += pool.getUsage().getUsed();
+                }
+            }
+            return used;
+        }
+
+        private static long peakHeap() {
+            long peak = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    peak += pool.getPeakUsage().getUsed();
+                }
+            }
+            return peak;
         }
     }
 
     public static void main(String[] args) {
         System.out.println("=== Scope Minimization Demonstration ===\n");
 
+        // Piped feeds and files skip the menu so its Scanner doesn't buffer away input
+        // Usage: --stream [filterMode [format]] (filterMode defaults to COUNT) | --file <path> [filterMode [format]]
+        //        --files [--filter <filterMode>] [--format <format>] <path>...
+        //        --threads <platform_pool|virtual_per_task> <taskCount> [poolSize [seed]]
+        //        --compare-threads [taskCount [poolSize]]
+        if (args.length > 0 && args[0].equals("--stream")) {
+            new GoodScopeExample(GoodScopeExample.ProcessingMode.STREAMING, GoodScopeExample.DEFAULT_TOP_K,
+                    filterModeArg(args, 1, GoodScopeExample.ProcessingMode.STREAMING), formatArg(args, 2))
+                    .processUserData();
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--file")) {
+            new GoodScopeExample(GoodScopeExample.ProcessingMode.SEQUENTIAL, GoodScopeExample.DEFAULT_TOP_K,
+                    filterModeArg(args, 2, GoodScopeExample.ProcessingMode.SEQUENTIAL), formatArg(args, 3))
+                    .processFile(Path.of(args[1]));
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--files")) {
+            // Paths are variadic, so filter mode and format come first as named options
+            FilteredWords.Mode filterMode = FilteredWords.Mode.ALL;
+            ResultsWriter.Format format = ResultsWriter.Format.REPORT;
+            int first = 1;
+            while (first + 1 < args.length && (args[first].equals("--filter") || args[first].equals("--format"))) {
+                if (args[first].equals("--filter")) {
+                    filterMode = filterModeArg(args, first + 1, GoodScopeExample.ProcessingMode.SEQUENTIAL);
+                } else {
+                    format = formatArg(args, first + 1);
+                }
+                first += 2;
+            }
+            List<Path> inputFiles = new ArrayList<>();
+            for (int i = first; i < args.length; i++) {
+                inputFiles.add(Path.of(args[i]));
+            }
+            new GoodScopeExample(GoodScopeExample.ProcessingMode.SEQUENTIAL, GoodScopeExample.DEFAULT_TOP_K,
+                    filterMode, format).processFiles(inputFiles);
+            return;
+        }
+        if (args.length > 2 && args[0].equals("--threads")) {
+            ThreadSafeScopeExample.RandomSource randomSource = args.length > 4
+                    ? ThreadSafeScopeExample.RandomSource.seeded(Long.parseLong(args[4]))
+                    : ThreadSafeScopeExample.RandomSource.threadLocal();
+            new ThreadSafeScopeExample(ThreadSafeScopeExample.ExecutorMode.valueOf(args[1].toUpperCase()),
+                    Integer.parseInt(args[2]), intArg(args, 3, ThreadSafeScopeExample.DEFAULT_POOL_SIZE),
+                    randomSource).demonstrateConcurrentScope();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--compare-threads")) {
+            ThreadSafeScopeExample.compareExecutors(intArg(args, 1, 10_000), intArg(args, 2, 200));
+            return;
+        }
+
         try {
             // Create instances for demonstration
             PoorScopeExample poorExample = new PoorScopeExample();
@@ -297,9 +744,11 @@ public class discussionpost {
             System.out.println("2. Good Scope Management Example");
             System.out.println("3. Thread-Safe Scope Example");
             System.out.println("4. Run Thread-Safe Example Only (non-interactive)");
+            System.out.println("5. Good Scope Example (parallel processing)");
+            System.out.println("6. Good Scope Example (streaming input)");
 
             Scanner menuScanner = new Scanner(System.in);
-            System.out.print("Enter choice (1-4): ");
+            System.out.print("Enter choice (1-6): ");
 
             try {
                 int choice = Integer.parseInt(menuScanner.nextLine().trim());
@@ -321,6 +770,14 @@ public class discussionpost {
                         System.out.println("\n--- Running Non-Interactive Thread Example ---");
                         threadExample.demonstrateConcurrentScope();
                     }
+                    case 5 -> {
+                        System.out.println("\n--- Running Parallel Good Scope Example ---");
+                        new GoodScopeExample(GoodScopeExample.ProcessingMode.PARALLEL).processUserData();
+                    }
+                    case 6 -> {
+                        System.out.println("\n--- Running Streaming Good Scope Example ---");
+                        new GoodScopeExample(GoodScopeExample.ProcessingMode.STREAMING).processUserData();
+                    }
                     default -> {
                         System.out.println("Invalid choice. Running thread example by default.");
                         threadExample.demonstrateConcurrentScope();
@@ -337,4 +794,21 @@ public class discussionpost {
 
         System.out.println("\n=== Demonstration Complete ===");
     }
-}
\ No newline at end of file
+
+    private static FilteredWords.Mode filterModeArg(String[] args, int index,
+            GoodScopeExample.ProcessingMode mode) {
+        return args.length > index
+                ? FilteredWords.Mode.valueOf(args[index].toUpperCase())
+                : GoodScopeExample.defaultFilterMode(mode);
+    }
+
+    private static ResultsWriter.Format formatArg(String[] args, int index) {
+        return args.length > index
+                ? ResultsWriter.Format.valueOf(args[index].toUpperCase())
+                : ResultsWriter.Format.REPORT;
+    }
+
+    private static int intArg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+}